@@ -0,0 +1,332 @@
+package benchmark;
+
+import dao.DatabaseConnection;
+import dao.StudentAnalytics;
+import dao.StudentDAO;
+import model.MajorDictionary;
+import model.MajorStatistics;
+import model.Student;
+import model.StudentBatch;
+import model.StudentPage;
+import util.StudentValidator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+// Regression suite for the model, util and dao packages. Every benchmark runs once per table size and
+// reports the median nanoseconds per row; results are compared with a baseline file and the run exits
+// with status 1 when any benchmark is slower than its baseline by more than the tolerance.
+// The in-memory benchmarks first run --warmup untimed rounds over every size so the small sizes are not
+// measured in the interpreter, then --runs measured rounds; each result is the median over the rounds.
+// --db adds the StudentDAO read and write paths against config.properties, measured in one round without
+// warm-up, so each is the median of --iterations calls from a cold start.
+// Usage: BenchmarkSuite [--db] [--sizes=1000,10000,100000] [--iterations=10] [--warmup=3] [--runs=5]
+//                       [--tolerance=0.30] [--baseline=benchmarks/baseline.csv] [--save-baseline]
+public class BenchmarkSuite {
+    private static final String DEFAULT_BASELINE = "benchmarks/baseline.csv";
+    // Ids looked up one at a time by dao.getStudentById, and rows per dao.updateStudents call
+    private static final int POINT_READS = 200;
+    private static final int PAGE_SIZE = 1_000;
+
+    // The StudentAnalytics benchmarks run on the fork/join pool, so their baseline needs more than one cpu
+    private static final int BASELINE_MIN_CPUS = 2;
+    private static final String PARALLEL_BENCHMARKS = "dao.StudentAnalytics.";
+
+    private final int iterations;
+    // "benchmark,size" -> ns per row of every measured round
+    private final Map<String, List<Double>> samples = new LinkedHashMap<>();
+    // False during warm-up rounds
+    private boolean recording;
+
+    private BenchmarkSuite(int iterations) {
+        this.iterations = iterations;
+    }
+
+    public static void main(String[] args) throws Exception {
+        boolean db = false;
+        boolean saveBaseline = false;
+        int[] sizes = {1_000, 10_000, 100_000};
+        int iterations = 10;
+        int warmup = 3;
+        int runs = 5;
+        double tolerance = 0.30;
+        Path baselinePath = Paths.get(DEFAULT_BASELINE);
+
+        for (String arg : args) {
+            if (arg.equals("--db")) {
+                db = true;
+            } else if (arg.equals("--save-baseline")) {
+                saveBaseline = true;
+            } else if (arg.startsWith("--sizes=")) {
+                sizes = Arrays.stream(arg.substring("--sizes=".length()).split(","))
+                        .mapToInt(size -> Integer.parseInt(size.trim())).toArray();
+            } else if (arg.startsWith("--iterations=")) {
+                iterations = Integer.parseInt(arg.substring("--iterations=".length()));
+            } else if (arg.startsWith("--warmup=")) {
+                warmup = Integer.parseInt(arg.substring("--warmup=".length()));
+            } else if (arg.startsWith("--runs=")) {
+                runs = Integer.parseInt(arg.substring("--runs=".length()));
+            } else if (arg.startsWith("--tolerance=")) {
+                tolerance = Double.parseDouble(arg.substring("--tolerance=".length()));
+            } else if (arg.startsWith("--baseline=")) {
+                baselinePath = Paths.get(arg.substring("--baseline=".length()));
+            } else {
+                throw new IllegalArgumentException("Unknown argument: " + arg);
+            }
+        }
+
+        if (runs < 1) {
+            throw new IllegalArgumentException("At least one run is required. Provided: " + runs);
+        }
+        // Below the minimum the fork/join benchmarks run serially; their baseline rows are left as they are
+        boolean saveParallel = Runtime.getRuntime().availableProcessors() >= BASELINE_MIN_CPUS;
+        if (saveBaseline && !saveParallel) {
+            System.out.println("Fewer than " + BASELINE_MIN_CPUS + " cpus: not saving the " + PARALLEL_BENCHMARKS
+                    + "* baselines");
+        }
+
+        BenchmarkSuite suite = new BenchmarkSuite(iterations);
+        for (int round = 0; round < warmup + runs; round++) {
+            suite.recording = round >= warmup;
+            System.out.println(suite.recording
+                    ? "Run " + (round - warmup + 1) + " of " + runs
+                    : "Warm-up " + (round + 1) + " of " + warmup);
+            for (int size : sizes) {
+                suite.runInMemory(size);
+            }
+        }
+        if (db) {
+            DatabaseConnection.initializeDatabase();
+            try {
+                for (int size : sizes) {
+                    suite.runDatabase(new StudentDAO(), size);
+                }
+            } finally {
+                DatabaseConnection.shutdown();
+            }
+        }
+
+        Map<String, Double> results = suite.medians();
+        Map<String, Double> baseline = readBaseline(baselinePath);
+        int regressions = report(results, baseline, tolerance);
+        if (saveBaseline) {
+            for (Map.Entry<String, Double> result : results.entrySet()) {
+                if (saveParallel || !result.getKey().startsWith(PARALLEL_BENCHMARKS)) {
+                    baseline.put(result.getKey(), result.getValue());
+                }
+            }
+            writeBaseline(baselinePath, baseline, warmup, runs, saveParallel);
+            System.out.println("Baseline written to " + baselinePath);
+        } else if (regressions > 0) {
+            System.out.println(regressions + " benchmark(s) regressed by more than "
+                    + Math.round(tolerance * 100) + "%");
+            System.exit(1);
+        }
+    }
+
+    private void runInMemory(int size) throws Exception {
+        List<Student> students = BenchmarkSupport.randomStudents(size, 42);
+        for (int i = 0; i < size; i++) {
+            students.get(i).setId(i + 1);
+        }
+        List<Student> copies = new ArrayList<>(size);
+        for (Student student : students) {
+            copies.add(new Student(student.getId(), student.getName(), student.getEmail(), student.getMajor(),
+                    student.getGpa(), student.getEnrollmentDate()));
+        }
+
+        measure("model.Student.hashSet", size, size, () -> {
+            Set<Student> set = new HashSet<>(students);
+            for (Student copy : copies) {
+                if (!set.contains(copy)) {
+                    throw new IllegalStateException("Equal student not found: " + copy);
+                }
+            }
+        });
+
+        measure("util.StudentValidator.validateStudent", size, size, () -> {
+            for (Student student : students) {
+                StudentValidator.validateStudent(student);
+            }
+        });
+
+        StudentBatch batch = new StudentBatch(size, new MajorDictionary());
+        measure("model.StudentBatch.fill", size, size, () -> {
+            StudentBatch filled = new StudentBatch(size, new MajorDictionary());
+            for (Student student : students) {
+                filled.add(student.getId(), student.getName(), student.getEmail(), student.getMajor(),
+                        student.getGpa(), student.getEnrollmentEpochDay(), student.getVersion());
+            }
+        });
+        for (Student student : students) {
+            batch.add(student.getId(), student.getName(), student.getEmail(), student.getMajor(),
+                    student.getGpa(), student.getEnrollmentEpochDay(), student.getVersion());
+        }
+
+        // The Collectors.groupingBy aggregation getMajorStatistics(true) used before the columnar snapshot
+        measure("stream.majorStatistics", size, size, () -> {
+            Map<String, double[]> gpasByMajor = students.stream()
+                    .collect(Collectors.groupingBy(Student::getMajor, TreeMap::new,
+                            Collectors.collectingAndThen(Collectors.toList(),
+                                    list -> list.stream().mapToDouble(Student::getGpa).sorted().toArray())));
+            for (double[] sorted : gpasByMajor.values()) {
+                if (Arrays.stream(sorted).average().orElse(0.0) < 0) {
+                    throw new IllegalStateException("Negative average");
+                }
+            }
+        });
+
+        StudentAnalytics analytics = StudentAnalytics.of(batch);
+        measure("dao.StudentAnalytics.majorStatistics", size, size, () -> {
+            MajorStatistics stats = analytics.majorStatistics();
+            if (stats.getTotalCount() != size) {
+                throw new IllegalStateException("Expected " + size + " students, got " + stats.getTotalCount());
+            }
+        });
+        measure("dao.StudentAnalytics.gpaHistogram", size, size, () -> analytics.gpaHistogram(8));
+        measure("dao.StudentAnalytics.enrollmentsByMonth", size, size, analytics::enrollmentsByMonth);
+    }
+
+    private void runDatabase(StudentDAO dao, int size) throws Exception {
+        int[] seeded = BenchmarkSupport.seed(dao, size, 42);
+        Random random = new Random(42);
+        try {
+            int[] pointIds = BenchmarkSupport.sample(seeded, Math.min(POINT_READS, seeded.length), random);
+            measure("dao.getStudentById", size, pointIds.length, () -> {
+                for (int id : pointIds) {
+                    if (dao.getStudentById(id) == null) {
+                        throw new IllegalStateException("Seeded student " + id + " is missing");
+                    }
+                }
+            });
+
+            int firstId = Arrays.stream(seeded).min().orElse(1);
+            measure("dao.getStudentsPage", size, Math.min(PAGE_SIZE, size), () -> {
+                StudentPage page = dao.getStudentsPage(firstId - 1, PAGE_SIZE);
+                if (page.getStudents().isEmpty()) {
+                    throw new IllegalStateException("Empty page after seeding");
+                }
+            });
+
+            // Whole-table reads: the per-row cost covers extractStudentFromResultSet and its batch counterpart
+            int tableRows = dao.countStudents();
+            measure("dao.getAllStudents", size, tableRows, dao::getAllStudents);
+            measure("dao.getAllStudentsBatch", size, tableRows, dao::getAllStudentsBatch);
+            measure("dao.getAnalyticsSnapshot", size, tableRows, dao::getAnalyticsSnapshot);
+
+            List<Student> toUpdate = new ArrayList<>(dao.getStudentsByIds(
+                    BenchmarkSupport.sample(seeded, Math.min(PAGE_SIZE, seeded.length), random)).values());
+            measure("dao.updateStudents", size, toUpdate.size(), () -> {
+                for (Student student : toUpdate) {
+                    student.setGpa(Math.round(random.nextDouble() * 400) / 100.0);
+                }
+                dao.updateStudents(toUpdate);
+            });
+
+            // Insert then delete a fresh page of rows; the batches are generated before timing starts
+            Deque<List<Student>> pending = new ArrayDeque<>();
+            for (int i = 0; i < iterations; i++) {
+                pending.add(BenchmarkSupport.randomStudents(PAGE_SIZE, i));
+            }
+            measure("dao.addStudents+deleteStudents", size, PAGE_SIZE, () -> {
+                List<Student> students = pending.remove();
+                dao.addStudents(students);
+                dao.deleteStudents(students.stream().mapToInt(Student::getId).toArray());
+            });
+        } finally {
+            BenchmarkSupport.cleanUp(dao, seeded);
+        }
+    }
+
+    private void measure(String name, int size, int operations, BenchmarkSupport.Workload workload)
+            throws Exception {
+        double nanos = BenchmarkSupport.nanosPerOperation(iterations, operations, workload);
+        if (!recording) {
+            return;
+        }
+        samples.computeIfAbsent(name + "," + size, key -> new ArrayList<>()).add(nanos);
+        System.out.printf(Locale.ROOT, "  %-42s %8d %12.1f ns/row%n", name, size, nanos);
+    }
+
+    // Median over the measured rounds of each benchmark
+    private Map<String, Double> medians() {
+        Map<String, Double> medians = new LinkedHashMap<>();
+        for (Map.Entry<String, List<Double>> entry : samples.entrySet()) {
+            List<Double> sorted = new ArrayList<>(entry.getValue());
+            sorted.sort(null);
+            medians.put(entry.getKey(), sorted.get(sorted.size() / 2));
+        }
+        return medians;
+    }
+
+    private static int report(Map<String, Double> results, Map<String, Double> baseline, double tolerance) {
+        int regressions = 0;
+        System.out.printf(Locale.ROOT, "%n%-42s %8s %12s %12s %8s%n", "benchmark", "size", "ns/row", "baseline", "change");
+        for (Map.Entry<String, Double> result : results.entrySet()) {
+            String[] key = result.getKey().split(",");
+            Double expected = baseline.get(result.getKey());
+            String change = "";
+            if (expected != null) {
+                double ratio = result.getValue() / expected - 1;
+                change = String.format(Locale.ROOT, "%+.0f%%", ratio * 100);
+                if (ratio > tolerance) {
+                    change += " REGRESSED";
+                    regressions++;
+                }
+            }
+            System.out.printf(Locale.ROOT, "%-42s %8s %12.1f %12s %s%n", key[0], key[1], result.getValue(),
+                    expected == null ? "-" : String.format(Locale.ROOT, "%.1f", expected), change);
+        }
+        return regressions;
+    }
+
+    // Lines of benchmark,size,ns_per_row; '#' starts a comment
+    private static Map<String, Double> readBaseline(Path path) throws IOException {
+        Map<String, Double> baseline = new LinkedHashMap<>();
+        if (!Files.exists(path)) {
+            return baseline;
+        }
+        for (String line : Files.readAllLines(path)) {
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#") || line.startsWith("benchmark,")) {
+                continue;
+            }
+            int lastComma = line.lastIndexOf(',');
+            baseline.put(line.substring(0, lastComma), Double.parseDouble(line.substring(lastComma + 1)));
+        }
+        return baseline;
+    }
+
+    private static void writeBaseline(Path path, Map<String, Double> baseline, int warmup, int runs,
+                                      boolean savedParallel) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add("# Median ns per row from BenchmarkSuite over " + runs + " runs after " + warmup
+                + " warm-up rounds; regenerate with --save-baseline on the reference machine");
+        lines.add("# java " + System.getProperty("java.version") + ", " + Runtime.getRuntime().availableProcessors()
+                + " cpus, " + System.getProperty("os.name") + " " + System.getProperty("os.arch"));
+        if (!savedParallel) {
+            lines.add("# " + PARALLEL_BENCHMARKS + "* not updated by this run: it had fewer than " + BASELINE_MIN_CPUS
+                    + " cpus");
+        }
+        lines.add("benchmark,size,ns_per_row");
+        for (Map.Entry<String, Double> entry : baseline.entrySet()) {
+            lines.add(entry.getKey() + "," + String.format(Locale.ROOT, "%.1f", entry.getValue()));
+        }
+        Files.write(path, lines);
+    }
+}
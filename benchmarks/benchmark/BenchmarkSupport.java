@@ -0,0 +1,92 @@
+package benchmark;
+
+import dao.BatchResult;
+import dao.StudentDAO;
+import model.Student;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Shared pieces of the benchmarks: generating and seeding throwaway rows and timing a block of work
+public final class BenchmarkSupport {
+
+    @FunctionalInterface
+    public interface Workload {
+        void run() throws Exception;
+    }
+
+    private static final String[] MAJORS = {
+            "Computer Science", "Mathematics", "Physics", "Biology", "Chemistry",
+            "Economics", "History", "Philosophy", "Psychology", "Engineering"
+    };
+
+    // Keeps emails unique when several batches are generated within the same millisecond
+    private static final AtomicLong RUNS = new AtomicLong();
+
+    private BenchmarkSupport() {
+    }
+
+    // Unsaved students with unique bench-* emails, reproducible for a given seed apart from the email run tag
+    public static List<Student> randomStudents(int rows, long randomSeed) {
+        Random random = new Random(randomSeed);
+        String run = Long.toString(System.currentTimeMillis(), 36) + "-" + RUNS.incrementAndGet();
+        List<Student> students = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            students.add(new Student(0, "Bench Student " + i, "bench-" + run + "-" + i + "@example.com",
+                    MAJORS[random.nextInt(MAJORS.length)], Math.round(random.nextDouble() * 400) / 100.0,
+                    LocalDate.of(2015, 1, 1).plusDays(random.nextInt(3_650))));
+        }
+        return students;
+    }
+
+    // Inserts rows with unique bench-* emails and returns their ids; callers delete them with cleanUp
+    public static int[] seed(StudentDAO dao, int rows, long randomSeed) throws SQLException {
+        List<Student> students = randomStudents(rows, randomSeed);
+        BatchResult result = dao.addStudents(students);
+        if (!result.isAllSuccessful()) {
+            throw new SQLException(result.getFailureCount() + " seed rows failed to insert");
+        }
+        return students.stream().mapToInt(Student::getId).toArray();
+    }
+
+    public static void cleanUp(StudentDAO dao, int[] ids) throws SQLException {
+        if (ids.length > 0) {
+            dao.deleteStudents(ids);
+        }
+    }
+
+    // n ids drawn without replacement
+    public static int[] sample(int[] ids, int n, Random random) {
+        int[] shuffled = ids.clone();
+        for (int i = 0; i < n; i++) {
+            int j = i + random.nextInt(shuffled.length - i);
+            int tmp = shuffled[i];
+            shuffled[i] = shuffled[j];
+            shuffled[j] = tmp;
+        }
+        return Arrays.copyOf(shuffled, n);
+    }
+
+    // Median wall time in milliseconds over `iterations` runs; warming up is left to the caller, as an
+    // untimed run of a writing workload would repeat its writes
+    public static double medianMillis(int iterations, Workload workload) throws Exception {
+        double[] samples = new double[iterations];
+        for (int i = 0; i < iterations; i++) {
+            long started = System.nanoTime();
+            workload.run();
+            samples[i] = (System.nanoTime() - started) / 1_000_000.0;
+        }
+        Arrays.sort(samples);
+        return samples[iterations / 2];
+    }
+
+    // Median nanoseconds per operation for a workload that performs `operations` operations per run
+    public static double nanosPerOperation(int iterations, int operations, Workload workload) throws Exception {
+        return medianMillis(iterations, workload) * 1_000_000.0 / operations;
+    }
+}
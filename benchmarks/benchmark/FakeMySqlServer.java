@@ -0,0 +1,626 @@
+package benchmark;
+
+import com.mysql.cj.MysqlType;
+import com.mysql.cj.protocol.a.NativeConstants;
+import com.mysql.cj.protocol.a.NativeConstants.IntegerDataType;
+import com.mysql.cj.protocol.a.NativeConstants.StringLengthDataType;
+import com.mysql.cj.protocol.a.NativeConstants.StringSelfDataType;
+import com.mysql.cj.protocol.a.NativePacketPayload;
+import com.mysql.cj.protocol.a.NativeServerSession;
+import util.BackgroundExecutors;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+// In-process stand-in for MySQL, so StudentDAO and the driver can be load tested without a database.
+// Speaks the classic protocol on 127.0.0.1: handshake (any user and password are accepted),
+// COM_QUERY with text result sets, COM_STMT_PREPARE/EXECUTE with binary result sets, OK, EOF and ERR
+// packets, over a SyntheticStudentTable of `rows` students. Every command is answered after
+// `latencyMicros`, to model the network and server time of a real deployment.
+// Not supported: TLS, compression, CLIENT_DEPRECATE_EOF, server-side cursors (results are always sent
+// in full) and COM_STMT_SEND_LONG_DATA.
+public final class FakeMySqlServer implements AutoCloseable {
+    public static final String SERVER_VERSION = "8.0.33-fake";
+
+    private static final String AUTH_PLUGIN = "mysql_native_password";
+    private static final int CAPABILITIES = NativeServerSession.CLIENT_LONG_PASSWORD
+            | NativeServerSession.CLIENT_FOUND_ROWS | NativeServerSession.CLIENT_LONG_FLAG
+            | NativeServerSession.CLIENT_CONNECT_WITH_DB | NativeServerSession.CLIENT_PROTOCOL_41
+            | NativeServerSession.CLIENT_TRANSACTIONS | NativeServerSession.CLIENT_SECURE_CONNECTION
+            | NativeServerSession.CLIENT_MULTI_RESULTS | NativeServerSession.CLIENT_PS_MULTI_RESULTS
+            | NativeServerSession.CLIENT_PLUGIN_AUTH;
+    private static final int MAX_PACKET_PAYLOAD = 0xffffff;
+    private static final int UTF8MB4_0900_AI_CI = 255;
+    private static final int BINARY = 63;
+    private static final int NOT_NULL_FLAG = 1;
+    private static final int BINARY_FLAG = 128;
+    private static final int ER_UNKNOWN_COM_ERROR = 1047;
+    private static final int ER_UNKNOWN_STMT_HANDLER = 1243;
+
+    private final SyntheticStudentTable table;
+    private final long latencyNanos;
+    private final ServerSocket serverSocket;
+    private final ExecutorService workers;
+    private final AtomicInteger connectionIds = new AtomicInteger();
+    private final LongAdder commands = new LongAdder();
+    private volatile boolean closed;
+
+    // Listens on an ephemeral port; connect through getJdbcUrl()
+    public FakeMySqlServer(int rows, long latencyMicros) throws IOException {
+        if (latencyMicros < 0) {
+            throw new IllegalArgumentException("Latency cannot be negative. Provided: " + latencyMicros);
+        }
+        this.table = new SyntheticStudentTable(rows);
+        this.latencyNanos = latencyMicros * 1_000;
+        this.serverSocket = new ServerSocket();
+        serverSocket.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+        this.workers = BackgroundExecutors.newExecutor("fake-mysql", 64);
+
+        Thread acceptor = new Thread(this::acceptConnections, "fake-mysql-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public String getJdbcUrl() {
+        return "jdbc:mysql://127.0.0.1:" + getPort() + "/" + SyntheticStudentTable.SCHEMA;
+    }
+
+    // Current number of students, including rows added by INSERTs
+    public int getRowCount() {
+        return table.size();
+    }
+
+    public long getCommandCount() {
+        return commands.sum();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            // Already closed
+        }
+        workers.shutdownNow();
+    }
+
+    private void acceptConnections() {
+        while (!closed) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                workers.execute(() -> serve(socket));
+            } catch (IOException e) {
+                if (!closed) {
+                    System.err.println("FakeMySqlServer stopped accepting connections: " + e.getMessage());
+                }
+                return;
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (Socket s = socket;
+             InputStream in = new BufferedInputStream(s.getInputStream());
+             OutputStream out = new BufferedOutputStream(s.getOutputStream())) {
+            new ClientSession(in, out).run();
+        } catch (EOFException | SocketException e) {
+            // Client went away
+        } catch (IOException e) {
+            if (!closed) {
+                System.err.println("FakeMySqlServer connection failed: " + e.getMessage());
+            }
+        }
+    }
+
+    private void pause() {
+        long deadline = System.nanoTime() + latencyNanos;
+        for (long left = latencyNanos; left > 0; left = deadline - System.nanoTime()) {
+            LockSupport.parkNanos(left);
+        }
+    }
+
+    private static final class PreparedSql {
+        final String sql;
+        final int parameterCount;
+        // Parameter types from the last execute that sent them; later executes may omit them
+        int[] parameterTypes;
+
+        PreparedSql(String sql, int parameterCount) {
+            this.sql = sql;
+            this.parameterCount = parameterCount;
+        }
+    }
+
+    // One client connection; the protocol is strictly request/response, so no locking is needed
+    private final class ClientSession {
+        private final InputStream in;
+        private final OutputStream out;
+        private final Map<Integer, PreparedSql> statements = new HashMap<>();
+        private final boolean[] autoCommit = {true};
+        private int sequence;
+        private int nextStatementId = 1;
+
+        ClientSession(InputStream in, OutputStream out) {
+            this.in = in;
+            this.out = out;
+        }
+
+        void run() throws IOException {
+            handshake();
+            while (!closed) {
+                NativePacketPayload packet = readPacket();
+                int command = (int) packet.readInteger(IntegerDataType.INT1);
+                if (command == NativeConstants.COM_QUIT) {
+                    return;
+                }
+                commands.increment();
+                // Closing a statement and sending long data have no response, so they are not delayed either
+                if (command != NativeConstants.COM_STMT_CLOSE && command != NativeConstants.COM_STMT_SEND_LONG_DATA) {
+                    pause();
+                }
+                dispatch(command, packet);
+                out.flush();
+            }
+        }
+
+        private void dispatch(int command, NativePacketPayload packet) throws IOException {
+            switch (command) {
+                case NativeConstants.COM_QUERY:
+                    writeResult(table.execute(packet.readString(StringSelfDataType.STRING_EOF, "UTF-8"), autoCommit),
+                            false);
+                    break;
+                case NativeConstants.COM_STMT_PREPARE:
+                    prepare(packet.readString(StringSelfDataType.STRING_EOF, "UTF-8"));
+                    break;
+                case NativeConstants.COM_STMT_EXECUTE:
+                    execute(packet);
+                    break;
+                case NativeConstants.COM_STMT_CLOSE:
+                    statements.remove((int) packet.readInteger(IntegerDataType.INT4));
+                    break;
+                case NativeConstants.COM_STMT_SEND_LONG_DATA:
+                    break;
+                case NativeConstants.COM_RESET_CONNECTION:
+                    statements.clear();
+                    autoCommit[0] = true;
+                    writeOk(0, 0);
+                    break;
+                case NativeConstants.COM_STMT_RESET:
+                case NativeConstants.COM_PING:
+                case NativeConstants.COM_INIT_DB:
+                    writeOk(0, 0);
+                    break;
+                default:
+                    writeError(ER_UNKNOWN_COM_ERROR, "08S01", "Unknown command " + command);
+            }
+        }
+
+        // Protocol::HandshakeV10 with a mysql_native_password scramble, then OK whatever the client answers
+        private void handshake() throws IOException {
+            byte[] scramble = new byte[20];
+            Random random = new Random();
+            for (int i = 0; i < scramble.length; i++) {
+                scramble[i] = (byte) (33 + random.nextInt(94));
+            }
+
+            NativePacketPayload greeting = new NativePacketPayload(128);
+            greeting.writeInteger(IntegerDataType.INT1, 10);
+            greeting.writeBytes(StringSelfDataType.STRING_TERM, SERVER_VERSION.getBytes(StandardCharsets.US_ASCII));
+            greeting.writeInteger(IntegerDataType.INT4, connectionIds.incrementAndGet());
+            greeting.writeBytes(StringLengthDataType.STRING_FIXED, scramble, 0, 8);
+            greeting.writeInteger(IntegerDataType.INT1, 0);
+            greeting.writeInteger(IntegerDataType.INT2, CAPABILITIES & 0xffff);
+            greeting.writeInteger(IntegerDataType.INT1, UTF8MB4_0900_AI_CI);
+            greeting.writeInteger(IntegerDataType.INT2, statusFlags());
+            greeting.writeInteger(IntegerDataType.INT2, CAPABILITIES >>> 16);
+            greeting.writeInteger(IntegerDataType.INT1, scramble.length + 1);
+            greeting.writeBytes(StringLengthDataType.STRING_FIXED, new byte[10]);
+            greeting.writeBytes(StringSelfDataType.STRING_TERM, Arrays.copyOfRange(scramble, 8, 20));
+            greeting.writeBytes(StringSelfDataType.STRING_TERM, AUTH_PLUGIN.getBytes(StandardCharsets.US_ASCII));
+            sequence = 0;
+            writePacket(greeting);
+            out.flush();
+
+            readPacket();
+            writeOk(0, 0);
+            out.flush();
+        }
+
+        private void prepare(String sql) throws IOException {
+            int parameterCount = placeholders(sql).length;
+            SyntheticStudentTable.Result shape = table.describe(bindParameters(sql, zeros(parameterCount)));
+            if (shape.isError()) {
+                writeError(shape.errorCode, shape.sqlState, shape.message);
+                return;
+            }
+            int id = nextStatementId++;
+            statements.put(id, new PreparedSql(sql, parameterCount));
+            int columnCount = shape.isResultSet() ? shape.columns.length : 0;
+
+            NativePacketPayload prepareOk = new NativePacketPayload(16);
+            prepareOk.writeInteger(IntegerDataType.INT1, 0);
+            prepareOk.writeInteger(IntegerDataType.INT4, id);
+            prepareOk.writeInteger(IntegerDataType.INT2, columnCount);
+            prepareOk.writeInteger(IntegerDataType.INT2, parameterCount);
+            prepareOk.writeInteger(IntegerDataType.INT1, 0);
+            prepareOk.writeInteger(IntegerDataType.INT2, 0);
+            writePacket(prepareOk);
+            if (parameterCount > 0) {
+                SyntheticStudentTable.Column parameter =
+                        new SyntheticStudentTable.Column("?", MysqlType.FIELD_TYPE_VAR_STRING, "");
+                for (int i = 0; i < parameterCount; i++) {
+                    writeColumn(parameter);
+                }
+                writeEof();
+            }
+            if (columnCount > 0) {
+                for (SyntheticStudentTable.Column column : shape.columns) {
+                    writeColumn(column);
+                }
+                writeEof();
+            }
+        }
+
+        // COM_STMT_EXECUTE: the parameters are decoded back into SQL literals and the statement runs as text
+        private void execute(NativePacketPayload packet) throws IOException {
+            int id = (int) packet.readInteger(IntegerDataType.INT4);
+            PreparedSql prepared = statements.get(id);
+            if (prepared == null) {
+                writeError(ER_UNKNOWN_STMT_HANDLER, "HY000", "Unknown prepared statement handler (" + id + ")");
+                return;
+            }
+            packet.readInteger(IntegerDataType.INT1); // cursor flags
+            packet.readInteger(IntegerDataType.INT4); // iteration count, always 1
+
+            String[] literals = new String[prepared.parameterCount];
+            if (literals.length > 0) {
+                byte[] nulls = packet.readBytes(StringLengthDataType.STRING_FIXED, (literals.length + 7) / 8);
+                if (packet.readInteger(IntegerDataType.INT1) == 1) {
+                    prepared.parameterTypes = new int[literals.length];
+                    for (int i = 0; i < literals.length; i++) {
+                        prepared.parameterTypes[i] = (int) packet.readInteger(IntegerDataType.INT2);
+                    }
+                }
+                for (int i = 0; i < literals.length; i++) {
+                    boolean isNull = (nulls[i / 8] & (1 << (i % 8))) != 0;
+                    literals[i] = isNull ? "NULL" : readLiteral(packet, prepared.parameterTypes[i]);
+                }
+            }
+            writeResult(table.execute(bindParameters(prepared.sql, literals), autoCommit), true);
+        }
+
+        // Protocol::Binary parameter value as SQL; the high byte of the type holds the unsigned flag
+        private String readLiteral(NativePacketPayload packet, int typeAndFlags) {
+            int type = typeAndFlags & 0xff;
+            boolean unsigned = (typeAndFlags & 0x8000) != 0;
+            switch (type) {
+                case MysqlType.FIELD_TYPE_TINY:
+                    return integerLiteral(packet.readInteger(IntegerDataType.INT1), 8, unsigned);
+                case MysqlType.FIELD_TYPE_SHORT:
+                case MysqlType.FIELD_TYPE_YEAR:
+                    return integerLiteral(packet.readInteger(IntegerDataType.INT2), 16, unsigned);
+                case MysqlType.FIELD_TYPE_LONG:
+                case MysqlType.FIELD_TYPE_INT24:
+                    return integerLiteral(packet.readInteger(IntegerDataType.INT4), 32, unsigned);
+                case MysqlType.FIELD_TYPE_LONGLONG:
+                    long value = packet.readInteger(IntegerDataType.INT8);
+                    return unsigned ? Long.toUnsignedString(value) : Long.toString(value);
+                case MysqlType.FIELD_TYPE_FLOAT:
+                    return Float.toString(Float.intBitsToFloat((int) packet.readInteger(IntegerDataType.INT4)));
+                case MysqlType.FIELD_TYPE_DOUBLE:
+                    return Double.toString(Double.longBitsToDouble(packet.readInteger(IntegerDataType.INT8)));
+                case MysqlType.FIELD_TYPE_DATE:
+                case MysqlType.FIELD_TYPE_DATETIME:
+                case MysqlType.FIELD_TYPE_TIMESTAMP:
+                    return dateLiteral(packet);
+                case MysqlType.FIELD_TYPE_TIME:
+                    packet.readBytes(StringLengthDataType.STRING_FIXED, (int) packet.readInteger(IntegerDataType.INT1));
+                    return "'00:00:00'";
+                case MysqlType.FIELD_TYPE_NULL:
+                    return "NULL";
+                default:
+                    // Strings, decimals, blobs and the rest are length-encoded bytes
+                    byte[] bytes = packet.readBytes(StringSelfDataType.STRING_LENENC);
+                    return quote(new String(bytes, StandardCharsets.UTF_8));
+            }
+        }
+
+        private String dateLiteral(NativePacketPayload packet) {
+            int length = (int) packet.readInteger(IntegerDataType.INT1);
+            if (length == 0) {
+                return "'0000-00-00'";
+            }
+            int year = (int) packet.readInteger(IntegerDataType.INT2);
+            int month = (int) packet.readInteger(IntegerDataType.INT1);
+            int day = (int) packet.readInteger(IntegerDataType.INT1);
+            String date = String.format("%04d-%02d-%02d", year, month, day);
+            if (length >= 7) {
+                date += String.format(" %02d:%02d:%02d", packet.readInteger(IntegerDataType.INT1),
+                        packet.readInteger(IntegerDataType.INT1), packet.readInteger(IntegerDataType.INT1));
+            }
+            if (length == 11) {
+                date += String.format(".%06d", packet.readInteger(IntegerDataType.INT4));
+            }
+            return "'" + date + "'";
+        }
+
+        private void writeResult(SyntheticStudentTable.Result result, boolean binary) throws IOException {
+            if (result.isError()) {
+                writeError(result.errorCode, result.sqlState, result.message);
+                return;
+            }
+            if (!result.isResultSet()) {
+                writeOk(result.affectedRows, result.lastInsertId);
+                return;
+            }
+
+            NativePacketPayload columnCount = new NativePacketPayload(9);
+            columnCount.writeInteger(IntegerDataType.INT_LENENC, result.columns.length);
+            writePacket(columnCount);
+            for (SyntheticStudentTable.Column column : result.columns) {
+                writeColumn(column);
+            }
+            writeEof();
+
+            NativePacketPayload row = new NativePacketPayload(256);
+            for (Object[] values : result.rows) {
+                row.setPosition(0);
+                if (binary) {
+                    writeBinaryRow(row, result.columns, values);
+                } else {
+                    writeTextRow(row, values);
+                }
+                writePacket(row);
+            }
+            writeEof();
+        }
+
+        // Protocol::ResultsetRow: every value as a length-encoded string, NULL as 0xfb
+        private void writeTextRow(NativePacketPayload row, Object[] values) {
+            for (Object value : values) {
+                if (value == null) {
+                    row.writeInteger(IntegerDataType.INT1, 0xfb);
+                } else {
+                    row.writeBytes(StringSelfDataType.STRING_LENENC, value.toString().getBytes(StandardCharsets.UTF_8));
+                }
+            }
+        }
+
+        // Protocol::BinaryResultsetRow: header, NULL bitmap (offset by two bits), then the non-NULL values
+        private void writeBinaryRow(NativePacketPayload row, SyntheticStudentTable.Column[] columns, Object[] values) {
+            row.writeInteger(IntegerDataType.INT1, 0);
+            byte[] nulls = new byte[(columns.length + 9) / 8];
+            for (int c = 0; c < values.length; c++) {
+                if (values[c] == null) {
+                    nulls[(c + 2) / 8] |= (byte) (1 << ((c + 2) % 8));
+                }
+            }
+            row.writeBytes(StringLengthDataType.STRING_FIXED, nulls);
+            for (int c = 0; c < values.length; c++) {
+                Object value = values[c];
+                if (value == null) {
+                    continue;
+                }
+                switch (columns[c].type) {
+                    case MysqlType.FIELD_TYPE_LONG:
+                        row.writeInteger(IntegerDataType.INT4, ((Number) value).longValue());
+                        break;
+                    case MysqlType.FIELD_TYPE_LONGLONG:
+                        row.writeInteger(IntegerDataType.INT8, ((Number) value).longValue());
+                        break;
+                    case MysqlType.FIELD_TYPE_DOUBLE:
+                        row.writeInteger(IntegerDataType.INT8, Double.doubleToLongBits(((Number) value).doubleValue()));
+                        break;
+                    case MysqlType.FIELD_TYPE_DATE:
+                        LocalDate date = (LocalDate) value;
+                        row.writeInteger(IntegerDataType.INT1, 4);
+                        row.writeInteger(IntegerDataType.INT2, date.getYear());
+                        row.writeInteger(IntegerDataType.INT1, date.getMonthValue());
+                        row.writeInteger(IntegerDataType.INT1, date.getDayOfMonth());
+                        break;
+                    default:
+                        row.writeBytes(StringSelfDataType.STRING_LENENC, value.toString().getBytes(StandardCharsets.UTF_8));
+                }
+            }
+        }
+
+        // Protocol::ColumnDefinition41
+        private void writeColumn(SyntheticStudentTable.Column column) throws IOException {
+            boolean text = column.type == MysqlType.FIELD_TYPE_VAR_STRING;
+            NativePacketPayload definition = new NativePacketPayload(64);
+            definition.writeBytes(StringSelfDataType.STRING_LENENC, "def".getBytes(StandardCharsets.US_ASCII));
+            definition.writeBytes(StringSelfDataType.STRING_LENENC,
+                    (column.table.isEmpty() ? "" : SyntheticStudentTable.SCHEMA).getBytes(StandardCharsets.UTF_8));
+            definition.writeBytes(StringSelfDataType.STRING_LENENC, column.table.getBytes(StandardCharsets.UTF_8));
+            definition.writeBytes(StringSelfDataType.STRING_LENENC, column.table.getBytes(StandardCharsets.UTF_8));
+            definition.writeBytes(StringSelfDataType.STRING_LENENC, column.name.getBytes(StandardCharsets.UTF_8));
+            definition.writeBytes(StringSelfDataType.STRING_LENENC,
+                    (column.table.isEmpty() ? "" : column.name).getBytes(StandardCharsets.UTF_8));
+            definition.writeInteger(IntegerDataType.INT_LENENC, 0x0c);
+            definition.writeInteger(IntegerDataType.INT2, text ? UTF8MB4_0900_AI_CI : BINARY);
+            definition.writeInteger(IntegerDataType.INT4, displayLength(column.type));
+            definition.writeInteger(IntegerDataType.INT1, column.type);
+            definition.writeInteger(IntegerDataType.INT2, column.table.isEmpty() ? 0
+                    : NOT_NULL_FLAG | (text ? 0 : BINARY_FLAG));
+            definition.writeInteger(IntegerDataType.INT1, column.type == MysqlType.FIELD_TYPE_DOUBLE ? 31 : 0);
+            definition.writeInteger(IntegerDataType.INT2, 0);
+            writePacket(definition);
+        }
+
+        private void writeOk(long affectedRows, long lastInsertId) throws IOException {
+            NativePacketPayload ok = new NativePacketPayload(32);
+            ok.writeInteger(IntegerDataType.INT1, 0);
+            ok.writeInteger(IntegerDataType.INT_LENENC, affectedRows);
+            ok.writeInteger(IntegerDataType.INT_LENENC, lastInsertId);
+            ok.writeInteger(IntegerDataType.INT2, statusFlags());
+            ok.writeInteger(IntegerDataType.INT2, 0);
+            writePacket(ok);
+        }
+
+        private void writeEof() throws IOException {
+            NativePacketPayload eof = new NativePacketPayload(5);
+            eof.writeInteger(IntegerDataType.INT1, 0xfe);
+            eof.writeInteger(IntegerDataType.INT2, 0);
+            eof.writeInteger(IntegerDataType.INT2, statusFlags());
+            writePacket(eof);
+        }
+
+        private void writeError(int code, String sqlState, String message) throws IOException {
+            NativePacketPayload error = new NativePacketPayload(64);
+            error.writeInteger(IntegerDataType.INT1, 0xff);
+            error.writeInteger(IntegerDataType.INT2, code);
+            error.writeBytes(StringLengthDataType.STRING_FIXED, ("#" + sqlState).getBytes(StandardCharsets.US_ASCII));
+            error.writeBytes(StringSelfDataType.STRING_EOF, message.getBytes(StandardCharsets.UTF_8));
+            writePacket(error);
+        }
+
+        private int statusFlags() {
+            return autoCommit[0] ? NativeServerSession.SERVER_STATUS_AUTOCOMMIT : 0;
+        }
+
+        // Writes payload[0, position) as one or more packets, continuing the current sequence
+        private void writePacket(NativePacketPayload payload) throws IOException {
+            byte[] bytes = payload.getByteBuffer();
+            int length = payload.getPosition();
+            int offset = 0;
+            do {
+                int chunk = Math.min(MAX_PACKET_PAYLOAD, length - offset);
+                out.write(chunk & 0xff);
+                out.write((chunk >>> 8) & 0xff);
+                out.write((chunk >>> 16) & 0xff);
+                out.write(sequence++ & 0xff);
+                out.write(bytes, offset, chunk);
+                offset += chunk;
+                // A payload of exactly 16 MB - 1 bytes is followed by an empty packet
+                if (chunk < MAX_PACKET_PAYLOAD) {
+                    break;
+                }
+            } while (true);
+        }
+
+        // Reads one logical packet, joining split ones; the reply continues its sequence
+        private NativePacketPayload readPacket() throws IOException {
+            byte[] payload = new byte[0];
+            int chunk;
+            do {
+                byte[] header = readFully(4);
+                chunk = (header[0] & 0xff) | (header[1] & 0xff) << 8 | (header[2] & 0xff) << 16;
+                sequence = (header[3] & 0xff) + 1;
+                byte[] joined = Arrays.copyOf(payload, payload.length + chunk);
+                System.arraycopy(readFully(chunk), 0, joined, payload.length, chunk);
+                payload = joined;
+            } while (chunk == MAX_PACKET_PAYLOAD);
+            return new NativePacketPayload(payload);
+        }
+
+        private byte[] readFully(int length) throws IOException {
+            byte[] bytes = new byte[length];
+            int read = 0;
+            while (read < length) {
+                int n = in.read(bytes, read, length - read);
+                if (n < 0) {
+                    throw new EOFException("Connection closed by client");
+                }
+                read += n;
+            }
+            return bytes;
+        }
+    }
+
+    private static String integerLiteral(long value, int bits, boolean unsigned) {
+        long mask = (1L << bits) - 1;
+        long masked = value & mask;
+        if (!unsigned && masked >= 1L << (bits - 1)) {
+            masked -= 1L << bits;
+        }
+        return Long.toString(masked);
+    }
+
+    // Column width in characters, as MySQL reports it for INT, BIGINT, DOUBLE, DATE and VARCHAR(100) utf8mb4
+    private static int displayLength(int type) {
+        switch (type) {
+            case MysqlType.FIELD_TYPE_LONG:
+                return 11;
+            case MysqlType.FIELD_TYPE_LONGLONG:
+                return 21;
+            case MysqlType.FIELD_TYPE_DOUBLE:
+                return 22;
+            case MysqlType.FIELD_TYPE_DATE:
+                return 10;
+            default:
+                return 400;
+        }
+    }
+
+    private static String quote(String value) {
+        return "'" + value.replace("\\", "\\\\").replace("'", "\\'") + "'";
+    }
+
+    private static String[] zeros(int count) {
+        String[] literals = new String[count];
+        Arrays.fill(literals, "0");
+        return literals;
+    }
+
+    // Offsets of the ? placeholders outside string literals and quoted identifiers
+    private static int[] placeholders(String sql) {
+        int[] offsets = new int[8];
+        int count = 0;
+        char quote = 0;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (quote != 0) {
+                if (c == '\\') {
+                    i++;
+                } else if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '\'' || c == '"' || c == '`') {
+                quote = c;
+            } else if (c == '?') {
+                if (count == offsets.length) {
+                    offsets = Arrays.copyOf(offsets, count * 2);
+                }
+                offsets[count++] = i;
+            }
+        }
+        return Arrays.copyOf(offsets, count);
+    }
+
+    // Replaces the placeholders with the literals, in order
+    private static String bindParameters(String sql, String[] literals) {
+        int[] offsets = placeholders(sql);
+        StringBuilder bound = new StringBuilder(sql.length() + 16 * offsets.length);
+        int copied = 0;
+        for (int i = 0; i < offsets.length; i++) {
+            bound.append(sql, copied, offsets[i]).append(literals[i]);
+            copied = offsets[i] + 1;
+        }
+        return bound.append(sql, copied, sql.length()).toString();
+    }
+}
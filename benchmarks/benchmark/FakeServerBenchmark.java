@@ -0,0 +1,104 @@
+package benchmark;
+
+import dao.DatabaseConfig;
+import dao.DatabaseConnection;
+import dao.StudentDAO;
+import metrics.QueryProfiler;
+import metrics.StudentMetrics;
+import model.Student;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+// StudentDAO throughput through the real driver and connection pool, against an in-process FakeMySqlServer
+// instead of config.properties, so it runs on any machine and gives the same data every time.
+// Each thread loops over a mix of point reads, IN-list reads, keyset pages, counts and updates.
+// Usage: FakeServerBenchmark [rows=100000] [latencyMicros=200] [threads=8] [seconds=10] [serverPrepared=false]
+public class FakeServerBenchmark {
+    private static final int IN_LIST_SIZE = 50;
+    private static final int PAGE_SIZE = 100;
+
+    public static void main(String[] args) throws Exception {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        long latencyMicros = args.length > 1 ? Long.parseLong(args[1]) : 200;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : 8;
+        int seconds = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+        boolean serverPrepared = args.length > 4 && Boolean.parseBoolean(args[4]);
+        if (rows < 1) {
+            throw new IllegalArgumentException("The synthetic table needs at least one row. Provided: " + rows);
+        }
+
+        try (FakeMySqlServer server = new FakeMySqlServer(rows, latencyMicros)) {
+            Properties props = new Properties();
+            // Server-side prepared statements exercise COM_STMT_PREPARE/EXECUTE and binary rows
+            props.setProperty("db.url", server.getJdbcUrl() + "?useServerPrepStmts=" + serverPrepared
+                    + "&cachePrepStmts=" + serverPrepared);
+            props.setProperty("db.user", "bench");
+            props.setProperty("db.password", "bench");
+            props.setProperty("db.pool.minSize", Integer.toString(threads));
+            props.setProperty("db.pool.maxSize", Integer.toString(threads));
+            DatabaseConnection.useConfig(DatabaseConfig.fromProperties(props));
+
+            StudentDAO dao = new StudentDAO();
+            LongAdder operations = new LongAdder();
+            ExecutorService workers = Executors.newFixedThreadPool(threads);
+            long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+            try {
+                List<Future<?>> running = new ArrayList<>();
+                for (int t = 0; t < threads; t++) {
+                    long seed = 42 + t;
+                    running.add(workers.submit(() -> {
+                        runMix(dao, server, new Random(seed), deadline, operations);
+                        return null;
+                    }));
+                }
+                for (Future<?> worker : running) {
+                    worker.get();
+                }
+            } finally {
+                workers.shutdownNow();
+            }
+
+            System.out.printf("rows=%d, latency=%d us, threads=%d, server prepared=%b%n",
+                    rows, latencyMicros, threads, serverPrepared);
+            System.out.printf("%d operations in %d s: %.0f ops/s, %d server commands%n", operations.sum(), seconds,
+                    operations.sum() / (double) seconds, server.getCommandCount());
+            System.out.print(StudentMetrics.get().getReport());
+            System.out.print(QueryProfiler.get().getTopQueriesReport());
+        } finally {
+            DatabaseConnection.shutdown();
+        }
+    }
+
+    private static void runMix(StudentDAO dao, FakeMySqlServer server, Random random, long deadline,
+                               LongAdder operations) throws Exception {
+        int rows = server.getRowCount();
+        while (System.nanoTime() < deadline) {
+            int pick = random.nextInt(100);
+            if (pick < 70) {
+                int id = 1 + random.nextInt(rows);
+                if (dao.getStudentById(id) == null) {
+                    throw new IllegalStateException("Synthetic student " + id + " is missing");
+                }
+            } else if (pick < 80) {
+                int[] ids = random.ints(IN_LIST_SIZE, 1, rows + 1).toArray();
+                dao.getStudentsByIds(ids);
+            } else if (pick < 90) {
+                dao.getStudentsPage(random.nextInt(rows), PAGE_SIZE);
+            } else if (pick < 95) {
+                dao.countStudents();
+            } else {
+                Student student = dao.getStudentById(1 + random.nextInt(rows));
+                student.setGpa(Math.round(random.nextDouble() * 400) / 100.0);
+                dao.updateStudent(student);
+            }
+            operations.increment();
+        }
+    }
+}
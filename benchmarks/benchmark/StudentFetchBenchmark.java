@@ -0,0 +1,55 @@
+package benchmark;
+
+import dao.DatabaseConnection;
+import dao.StudentDAO;
+import model.Student;
+
+import java.util.Map;
+import java.util.Random;
+
+// Compares StudentDAO.getStudentsByIds with the getStudentById loop callers used before.
+// Runs against the database in config.properties; seeds its own rows and deletes them afterwards.
+// Usage: StudentFetchBenchmark [seedRows=20000] [iterations=10]
+public class StudentFetchBenchmark {
+    private static final int[] FETCH_SIZES = {10, 100, 1_000, 10_000};
+
+    public static void main(String[] args) throws Exception {
+        int seedRows = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+        DatabaseConnection.initializeDatabase();
+        // The plain DAO: a cache in front would turn the per-id loop into map lookups
+        StudentDAO dao = new StudentDAO();
+        Random random = new Random(42);
+        int[] seeded = BenchmarkSupport.seed(dao, seedRows, 42);
+
+        try {
+            System.out.printf("%8s %16s %16s %9s%n", "ids", "per-id loop ms", "batched ms", "speedup");
+            for (int size : FETCH_SIZES) {
+                if (size > seeded.length) {
+                    break;
+                }
+                int[] ids = BenchmarkSupport.sample(seeded, size, random);
+
+                double loop = BenchmarkSupport.medianMillis(iterations, () -> {
+                    for (int id : ids) {
+                        if (dao.getStudentById(id) == null) {
+                            throw new IllegalStateException("Seeded student " + id + " is missing");
+                        }
+                    }
+                });
+                double batched = BenchmarkSupport.medianMillis(iterations, () -> {
+                    Map<Integer, Student> found = dao.getStudentsByIds(ids);
+                    if (found.size() != ids.length) {
+                        throw new IllegalStateException("Expected " + ids.length + " students, got " + found.size());
+                    }
+                });
+
+                System.out.printf("%8d %16.2f %16.2f %8.1fx%n", size, loop, batched, loop / batched);
+            }
+        } finally {
+            BenchmarkSupport.cleanUp(dao, seeded);
+            DatabaseConnection.shutdown();
+        }
+    }
+}
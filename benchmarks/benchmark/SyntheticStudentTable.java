@@ -0,0 +1,496 @@
+package benchmark;
+
+import com.mysql.cj.MysqlType;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// The students table behind FakeMySqlServer. Row values are derived from the id alone, so every run and
+// every connection sees the same data. Inserts grow the table (the new rows get synthetic values, not the
+// inserted ones); updates and deletes report their matched rows but change nothing.
+// Only the statement shapes StudentDAO and the driver issue are understood; anything else is an error.
+final class SyntheticStudentTable {
+    static final String SCHEMA = "student_db";
+    static final String TABLE = "students";
+
+    private static final String[] MAJORS = {
+            "Computer Science", "Mathematics", "Physics", "Biology", "Chemistry",
+            "Economics", "History", "Philosophy", "Psychology", "Engineering"
+    };
+    private static final LocalDate FIRST_ENROLLMENT = LocalDate.of(2015, 1, 1);
+
+    private static final Column[] STUDENT_COLUMNS = {
+            new Column("id", MysqlType.FIELD_TYPE_LONG, TABLE),
+            new Column("name", MysqlType.FIELD_TYPE_VAR_STRING, TABLE),
+            new Column("email", MysqlType.FIELD_TYPE_VAR_STRING, TABLE),
+            new Column("major", MysqlType.FIELD_TYPE_VAR_STRING, TABLE),
+            new Column("gpa", MysqlType.FIELD_TYPE_DOUBLE, TABLE),
+            new Column("enrollment_date", MysqlType.FIELD_TYPE_DATE, TABLE),
+            new Column("version", MysqlType.FIELD_TYPE_LONG, TABLE)
+    };
+
+    // Answers for SELECT @@variable; the driver reads most of these while connecting
+    private static final Map<String, String> VARIABLES = new LinkedHashMap<>();
+
+    static {
+        VARIABLES.put("auto_increment_increment", "1");
+        for (String name : new String[]{"client", "connection", "database", "results", "server", "system"}) {
+            VARIABLES.put("character_set_" + name, "utf8mb4");
+        }
+        for (String name : new String[]{"connection", "database", "server"}) {
+            VARIABLES.put("collation_" + name, "utf8mb4_0900_ai_ci");
+        }
+        VARIABLES.put("init_connect", "");
+        VARIABLES.put("interactive_timeout", "28800");
+        VARIABLES.put("license", "GPL");
+        VARIABLES.put("lower_case_table_names", "0");
+        VARIABLES.put("max_allowed_packet", "67108864");
+        VARIABLES.put("net_write_timeout", "60");
+        VARIABLES.put("performance_schema", "0");
+        VARIABLES.put("sql_mode", "ONLY_FULL_GROUP_BY,STRICT_TRANS_TABLES,NO_ZERO_IN_DATE,NO_ZERO_DATE,"
+                + "ERROR_FOR_DIVISION_BY_ZERO,NO_ENGINE_SUBSTITUTION");
+        VARIABLES.put("system_time_zone", "UTC");
+        VARIABLES.put("time_zone", "SYSTEM");
+        VARIABLES.put("transaction_isolation", "REPEATABLE-READ");
+        VARIABLES.put("tx_isolation", "REPEATABLE-READ");
+        VARIABLES.put("transaction_read_only", "0");
+        VARIABLES.put("tx_read_only", "0");
+        VARIABLES.put("read_only", "0");
+        VARIABLES.put("version", FakeMySqlServer.SERVER_VERSION);
+        VARIABLES.put("version_comment", "FakeMySqlServer");
+        VARIABLES.put("wait_timeout", "28800");
+    }
+
+    private static final String VALUE = "('(?:[^'\\\\]|\\\\.)*'|-?\\d+(?:\\.\\d+)?|null)";
+    private static final String VALUE_LIST = "\\((" + VALUE + "(?:," + VALUE + ")*)\\)";
+    private static final Pattern LEADING_COMMENT = Pattern.compile("^\\s*/\\*.*?\\*/", Pattern.DOTALL);
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern PUNCTUATION_SPACE = Pattern.compile(" ?([(,=<>+]) ?| (\\))");
+    private static final Pattern LITERAL = Pattern.compile(VALUE);
+    private static final Pattern SELECT = Pattern.compile("select (.+?) from students"
+            + "(?: where (.+?))?(?: order by (.+?))?(?: limit (\\d+)(?: offset (\\d+))?)?");
+    private static final Pattern ID_EQUALS = Pattern.compile("id=" + VALUE);
+    private static final Pattern ID_IN = Pattern.compile("id in" + VALUE_LIST);
+    private static final Pattern ID_AFTER = Pattern.compile("id>" + VALUE);
+    private static final Pattern EMAIL_EQUALS = Pattern.compile("email=" + VALUE);
+    private static final Pattern EMAIL_IN = Pattern.compile("email in" + VALUE_LIST);
+    private static final Pattern VERSION_EQUALS = Pattern.compile(" and version=" + VALUE + "$");
+    private static final Pattern SYNTHETIC_EMAIL = Pattern.compile("student(\\d+)@example\\.com");
+    private static final Pattern VARIABLE = Pattern.compile("@@(?:session\\.|global\\.|local\\.)?(\\w+)(?: as (\\w+))?");
+    private static final Pattern AUTOCOMMIT = Pattern.compile("set (?:session |@@session\\.)?autocommit=(\\w+)");
+    private static final Pattern ORDER_TERM = Pattern.compile("(\\w+)(?: (asc|desc))?");
+
+    static final class Column {
+        final String name;
+        final int type;
+        final String table;
+
+        Column(String name, int type, String table) {
+            this.name = name;
+            this.type = type;
+            this.table = table;
+        }
+    }
+
+    // Either a result set (columns and rows of Integer, Long, Double, String, LocalDate or null values),
+    // an OK with counts, or an error
+    static final class Result {
+        final Column[] columns;
+        final List<Object[]> rows;
+        final long affectedRows;
+        final long lastInsertId;
+        final int errorCode;
+        final String sqlState;
+        final String message;
+
+        private Result(Column[] columns, List<Object[]> rows, long affectedRows, long lastInsertId,
+                       int errorCode, String sqlState, String message) {
+            this.columns = columns;
+            this.rows = rows;
+            this.affectedRows = affectedRows;
+            this.lastInsertId = lastInsertId;
+            this.errorCode = errorCode;
+            this.sqlState = sqlState;
+            this.message = message;
+        }
+
+        static Result rows(Column[] columns, List<Object[]> rows) {
+            return new Result(columns, rows, 0, 0, 0, null, null);
+        }
+
+        static Result ok(long affectedRows, long lastInsertId) {
+            return new Result(null, null, affectedRows, lastInsertId, 0, null, null);
+        }
+
+        static Result error(int errorCode, String sqlState, String message) {
+            return new Result(null, null, 0, 0, errorCode, sqlState, message);
+        }
+
+        boolean isResultSet() {
+            return columns != null;
+        }
+
+        boolean isError() {
+            return errorCode != 0;
+        }
+    }
+
+    private final AtomicInteger size;
+
+    SyntheticStudentTable(int rows) {
+        if (rows < 0) {
+            throw new IllegalArgumentException("Row count cannot be negative. Provided: " + rows);
+        }
+        this.size = new AtomicInteger(rows);
+    }
+
+    int size() {
+        return size.get();
+    }
+
+    // Column values of the student with the given id, which must be between 1 and size()
+    static Object[] student(int id) {
+        int mixed = id * 0x9E3779B1;
+        mixed = (mixed ^ (mixed >>> 16)) & 0x7fffffff;
+        return new Object[]{id, "Student " + id, "student" + id + "@example.com", MAJORS[mixed % MAJORS.length],
+                (mixed / MAJORS.length % 401) / 100.0, FIRST_ENROLLMENT.plusDays(mixed % 3_650), 0};
+    }
+
+    // Result columns of a statement being prepared, without side effects: queries run with the parameters set
+    // to 0, which matches no rows, and other statements are assumed to return an OK
+    Result describe(String sqlWithZeros) {
+        String statement = normalize(sqlWithZeros);
+        if (statement.startsWith("select ") || statement.equals("show warnings")) {
+            return execute(sqlWithZeros, new boolean[]{true});
+        }
+        return Result.ok(0, 0);
+    }
+
+    // autoCommit is the calling connection's autocommit flag, updated by SET autocommit
+    Result execute(String sql, boolean[] autoCommit) {
+        String statement = normalize(sql);
+        if (statement.startsWith("select @@")) {
+            return orUnsupported(variables(statement.substring("select ".length())), sql);
+        }
+        if (statement.equals("select 1") || statement.equals("select 1 from dual")) {
+            return Result.rows(new Column[]{new Column("1", MysqlType.FIELD_TYPE_LONGLONG, "")},
+                    Collections.singletonList(new Object[]{1L}));
+        }
+        if (statement.startsWith("select ")) {
+            return orUnsupported(select(statement), sql);
+        }
+        if (statement.startsWith("insert into students")) {
+            int tuples = countValueTuples(statement);
+            int first = size.getAndAdd(tuples) + 1;
+            return Result.ok(tuples, first);
+        }
+        if (statement.startsWith("update students ") || statement.startsWith("delete from students ")) {
+            return orUnsupported(modify(statement), sql);
+        }
+        if (statement.equals("show warnings")) {
+            return Result.rows(new Column[]{new Column("Level", MysqlType.FIELD_TYPE_VAR_STRING, ""),
+                    new Column("Code", MysqlType.FIELD_TYPE_LONG, ""),
+                    new Column("Message", MysqlType.FIELD_TYPE_VAR_STRING, "")}, Collections.emptyList());
+        }
+        Matcher autoCommitSetting = AUTOCOMMIT.matcher(statement);
+        if (autoCommitSetting.matches()) {
+            String value = autoCommitSetting.group(1);
+            autoCommit[0] = value.equals("1") || value.equals("on") || value.equals("true");
+            return Result.ok(0, 0);
+        }
+        if (statement.startsWith("set ") || statement.startsWith("use ") || statement.equals("commit")
+                || statement.equals("rollback") || statement.equals("begin")
+                || statement.startsWith("start transaction")) {
+            return Result.ok(0, 0);
+        }
+        return unsupported(sql);
+    }
+
+    // Result for a SELECT on students, or null when the statement is not understood
+    private Result select(String statement) {
+        Matcher select = SELECT.matcher(statement);
+        if (!select.matches()) {
+            return null;
+        }
+
+        String projection = select.group(1);
+        boolean idOrder = select.group(3) == null || select.group(3).equals("id");
+        // Ranges in id order only need to be generated up to the LIMIT
+        long limit = !idOrder || select.group(4) == null ? Integer.MAX_VALUE
+                : Long.parseLong(select.group(4)) + (select.group(5) == null ? 0 : Long.parseLong(select.group(5)));
+        if (projection.equals("count(*)")) {
+            limit = Integer.MAX_VALUE;
+            if (select.group(2) == null) {
+                return Result.rows(new Column[]{new Column("COUNT(*)", MysqlType.FIELD_TYPE_LONGLONG, "")},
+                        Collections.singletonList(new Object[]{(long) size.get()}));
+            }
+        }
+        int[] ids = matchingIds(select.group(2), (int) Math.min(Integer.MAX_VALUE, limit));
+        if (ids == null) {
+            return null;
+        }
+        if (projection.equals("count(*)")) {
+            return Result.rows(new Column[]{new Column("COUNT(*)", MysqlType.FIELD_TYPE_LONGLONG, "")},
+                    Collections.singletonList(new Object[]{(long) ids.length}));
+        }
+
+        int[] projected = projection(projection);
+        if (projected == null) {
+            return null;
+        }
+        if (!idOrder) {
+            ids = sorted(ids, select.group(3));
+            if (ids == null) {
+                return null;
+            }
+        }
+        int offset = select.group(5) == null ? 0 : (int) Math.min(ids.length, Long.parseLong(select.group(5)));
+        int end = select.group(4) == null ? ids.length
+                : (int) Math.min(ids.length, offset + Long.parseLong(select.group(4)));
+
+        Column[] columns = new Column[projected.length];
+        for (int c = 0; c < projected.length; c++) {
+            columns[c] = projected[c] < 0 ? new Column("1", MysqlType.FIELD_TYPE_LONGLONG, "")
+                    : STUDENT_COLUMNS[projected[c]];
+        }
+        List<Object[]> rows = new ArrayList<>(end - offset);
+        for (int i = offset; i < end; i++) {
+            Object[] student = student(ids[i]);
+            Object[] row = new Object[projected.length];
+            for (int c = 0; c < projected.length; c++) {
+                row[c] = projected[c] < 0 ? 1L : student[projected[c]];
+            }
+            rows.add(row);
+        }
+        return Result.rows(columns, rows);
+    }
+
+    // Indexes into STUDENT_COLUMNS, -1 for a literal 1, or null for anything else
+    private static int[] projection(String projection) {
+        if (projection.equals("*")) {
+            int[] all = new int[STUDENT_COLUMNS.length];
+            Arrays.setAll(all, c -> c);
+            return all;
+        }
+        String[] items = projection.split(",");
+        int[] projected = new int[items.length];
+        for (int i = 0; i < items.length; i++) {
+            projected[i] = items[i].equals("1") ? -1 : columnIndex(items[i]);
+            if (projected[i] == -2) {
+                return null;
+            }
+        }
+        return projected;
+    }
+
+    private static int columnIndex(String name) {
+        for (int c = 0; c < STUDENT_COLUMNS.length; c++) {
+            if (STUDENT_COLUMNS[c].name.equals(name)) {
+                return c;
+            }
+        }
+        return -2;
+    }
+
+    // The first `limit` ascending ids matching the WHERE clause, or null when the clause is not understood
+    private int[] matchingIds(String where, int limit) {
+        int rows = size.get();
+        if (where == null) {
+            int[] all = new int[Math.min(rows, limit)];
+            Arrays.setAll(all, i -> i + 1);
+            return all;
+        }
+
+        Matcher matcher = ID_EQUALS.matcher(where);
+        if (matcher.matches()) {
+            return existing(new String[]{matcher.group(1)}, rows, false);
+        }
+        matcher = ID_IN.matcher(where);
+        if (matcher.matches()) {
+            return existing(literals(matcher.group(1)), rows, false);
+        }
+        matcher = EMAIL_EQUALS.matcher(where);
+        if (matcher.matches()) {
+            return existing(new String[]{matcher.group(1)}, rows, true);
+        }
+        matcher = EMAIL_IN.matcher(where);
+        if (matcher.matches()) {
+            return existing(literals(matcher.group(1)), rows, true);
+        }
+        matcher = ID_AFTER.matcher(where);
+        if (matcher.matches()) {
+            Long after = number(matcher.group(1));
+            int first = after == null ? rows + 1 : (int) Math.max(1, Math.min((long) rows + 1, after + 1));
+            int[] ids = new int[Math.min(rows - first + 1, limit)];
+            Arrays.setAll(ids, i -> first + i);
+            return ids;
+        }
+        return null;
+    }
+
+    // Sorted distinct ids named by the literals (ids, or synthetic emails) that exist in the table
+    private static int[] existing(String[] literals, int rows, boolean emails) {
+        return Arrays.stream(literals)
+                .mapToLong(literal -> {
+                    if (!emails) {
+                        Long id = number(literal);
+                        return id == null ? 0 : id;
+                    }
+                    Matcher email = SYNTHETIC_EMAIL.matcher(unquote(literal));
+                    return email.matches() && email.group(1).length() < 10 ? Long.parseLong(email.group(1)) : 0;
+                })
+                .filter(id -> id >= 1 && id <= rows)
+                .distinct().sorted().mapToInt(id -> (int) id).toArray();
+    }
+
+    // ORDER BY over student columns, e.g. "gpa desc, id"; null for anything else
+    private static int[] sorted(int[] ids, String orderBy) {
+        Comparator<Object[]> order = null;
+        for (String term : orderBy.split(",")) {
+            Matcher matcher = ORDER_TERM.matcher(term);
+            int column = matcher.matches() ? columnIndex(matcher.group(1)) : -2;
+            if (column < 0) {
+                return null;
+            }
+            @SuppressWarnings("unchecked")
+            Comparator<Object[]> byColumn = Comparator.comparing(row -> (Comparable<Object>) row[column]);
+            if ("desc".equals(matcher.group(2))) {
+                byColumn = byColumn.reversed();
+            }
+            order = order == null ? byColumn : order.thenComparing(byColumn);
+        }
+        List<Object[]> students = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            students.add(student(id));
+        }
+        students.sort(order);
+        return students.stream().mapToInt(row -> (Integer) row[0]).toArray();
+    }
+
+    private Result modify(String statement) {
+        int where = statement.lastIndexOf(" where ");
+        if (where < 0) {
+            return null;
+        }
+        String condition = statement.substring(where + " where ".length());
+        // Versioned updates match only while the version is still the synthetic 0
+        Matcher version = VERSION_EQUALS.matcher(condition);
+        boolean staleVersion = false;
+        if (version.find()) {
+            Long expected = number(version.group(1));
+            staleVersion = expected == null || expected != 0;
+            condition = condition.substring(0, version.start());
+        }
+        int[] ids = matchingIds(condition, Integer.MAX_VALUE);
+        if (ids == null) {
+            return null;
+        }
+        long matched = staleVersion ? 0 : ids.length;
+        // updateStudent reads the new version back through LAST_INSERT_ID(version+1)
+        long lastInsertId = statement.contains("last_insert_id(version+1)") && matched > 0 ? 1 : 0;
+        return Result.ok(matched, lastInsertId);
+    }
+
+    private static Result variables(String items) {
+        List<Column> columns = new ArrayList<>();
+        List<Object> values = new ArrayList<>();
+        for (String item : items.split(",")) {
+            Matcher variable = VARIABLE.matcher(item);
+            if (!variable.matches()) {
+                return null;
+            }
+            String label = variable.group(2) != null ? variable.group(2) : item;
+            columns.add(new Column(label, MysqlType.FIELD_TYPE_VAR_STRING, ""));
+            values.add(VARIABLES.get(variable.group(1)));
+        }
+        return Result.rows(columns.toArray(new Column[0]), Collections.singletonList(values.toArray()));
+    }
+
+    // Number of "(...)" groups after VALUES, i.e. rows of a (possibly rewritten multi-row) INSERT
+    private static int countValueTuples(String statement) {
+        int values = statement.indexOf("values");
+        int tuples = 0;
+        int depth = 0;
+        boolean quoted = false;
+        for (int i = Math.max(0, values); i < statement.length(); i++) {
+            char c = statement.charAt(i);
+            if (quoted) {
+                if (c == '\\') {
+                    i++;
+                } else if (c == '\'') {
+                    quoted = false;
+                }
+            } else if (c == '\'') {
+                quoted = true;
+            } else if (c == '(') {
+                if (depth++ == 0) {
+                    tuples++;
+                }
+            } else if (c == ')') {
+                depth--;
+            }
+        }
+        return tuples;
+    }
+
+    private static String[] literals(String list) {
+        List<String> literals = new ArrayList<>();
+        Matcher literal = LITERAL.matcher(list);
+        while (literal.find()) {
+            literals.add(literal.group());
+        }
+        return literals.toArray(new String[0]);
+    }
+
+    private static Long number(String literal) {
+        String value = unquote(literal);
+        try {
+            return (long) Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static String unquote(String literal) {
+        if (literal.length() >= 2 && literal.startsWith("'") && literal.endsWith("'")) {
+            return literal.substring(1, literal.length() - 1).replaceAll("\\\\(.)", "$1");
+        }
+        return literal;
+    }
+
+    // Lower case with comments, the trailing semicolon and spaces around punctuation removed, e.g.
+    // "select id,name from students where id in(1,2)". String literals are lowered too, which is harmless
+    // since the only ones inspected are the all-lowercase synthetic emails.
+    private static String normalize(String sql) {
+        String statement = sql;
+        Matcher comment = LEADING_COMMENT.matcher(statement);
+        while (comment.lookingAt()) {
+            statement = statement.substring(comment.end());
+            comment = LEADING_COMMENT.matcher(statement);
+        }
+        statement = statement.trim();
+        if (statement.endsWith(";")) {
+            statement = statement.substring(0, statement.length() - 1);
+        }
+        return PUNCTUATION_SPACE.matcher(WHITESPACE.matcher(statement.trim()).replaceAll(" ")).replaceAll("$1$2")
+                .toLowerCase(Locale.ROOT);
+    }
+
+    private static Result orUnsupported(Result result, String sql) {
+        return result != null ? result : unsupported(sql);
+    }
+
+    private static Result unsupported(String sql) {
+        return Result.error(1235, "42000", "FakeMySqlServer does not support this statement: " + sql);
+    }
+}
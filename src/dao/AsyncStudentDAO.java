@@ -0,0 +1,251 @@
+package dao;
+
+import model.MajorStatistics;
+import model.Student;
+import model.StudentPage;
+import util.BackgroundExecutors;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+// Non-blocking facade over StudentDAO: every call runs on its own task and completes a CompletableFuture.
+// Tasks run on virtual threads when the runtime has them (see BackgroundExecutors), so thousands of
+// callers can wait on the database without a platform thread each. A semaphore caps how many calls
+// are inside JDBC at once; by default it matches the connection pool, since any call beyond that
+// would only block in the pool waiting for a connection and risk its borrow timeout.
+// Futures fail with the DAO's own exceptions (e.g. StudentNotFoundException), unwrapped.
+public class AsyncStudentDAO implements AutoCloseable {
+
+    @FunctionalInterface
+    private interface DaoCall<T> {
+        T call() throws Exception;
+    }
+
+    private final StudentDAO dao;
+    private final Semaphore permits;
+    private final int maxConcurrency;
+    private final ExecutorService executor;
+
+    public AsyncStudentDAO(StudentDAO dao) throws SQLException {
+        this(dao, DatabaseConnection.getConfig().getPoolMaxSize());
+    }
+
+    public AsyncStudentDAO(StudentDAO dao, int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("Concurrency limit must be at least 1. Provided: " + maxConcurrency);
+        }
+        this.dao = dao;
+        this.maxConcurrency = maxConcurrency;
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.executor = BackgroundExecutors.newExecutor("student-dao-async", maxConcurrency);
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    // Calls currently inside the DAO
+    public int getActiveCalls() {
+        return maxConcurrency - permits.availablePermits();
+    }
+
+    // Calls waiting for a permit
+    public int getQueuedCalls() {
+        return permits.getQueueLength();
+    }
+
+    public CompletableFuture<Student> addStudent(Student student) {
+        return submit(() -> dao.addStudent(student));
+    }
+
+    public CompletableFuture<Student> updateStudent(Student student) {
+        return submit(() -> dao.updateStudent(student));
+    }
+
+    public CompletableFuture<Student> updateStudentIfUnchanged(Student student) {
+        return submit(() -> dao.updateStudentIfUnchanged(student));
+    }
+
+    public CompletableFuture<Void> deleteStudent(int id) {
+        return submit(() -> {
+            dao.deleteStudent(id);
+            return null;
+        });
+    }
+
+    public CompletableFuture<BatchResult> addStudents(Collection<Student> students) {
+        return submit(() -> dao.addStudents(students));
+    }
+
+    public CompletableFuture<BatchResult> updateStudents(Collection<Student> students) {
+        return submit(() -> dao.updateStudents(students));
+    }
+
+    public CompletableFuture<BatchResult> deleteStudents(int... ids) {
+        return submit(() -> dao.deleteStudents(ids));
+    }
+
+    public CompletableFuture<Student> getStudentById(int id) {
+        return submit(() -> dao.getStudentById(id));
+    }
+
+    public CompletableFuture<Student> getStudentByEmail(String email) {
+        return submit(() -> dao.getStudentByEmail(email));
+    }
+
+    public CompletableFuture<List<Student>> getAllStudents() {
+        return submit(dao::getAllStudents);
+    }
+
+    public CompletableFuture<StudentPage> getStudentsPage(int afterId, int pageSize) {
+        return submit(() -> dao.getStudentsPage(afterId, pageSize));
+    }
+
+    public CompletableFuture<Integer> countStudents() {
+        return submit(dao::countStudents);
+    }
+
+    public CompletableFuture<Set<String>> getUniqueMajors() {
+        return submit(dao::getUniqueMajors);
+    }
+
+    public CompletableFuture<Map<String, List<Student>>> getStudentsByMajor() {
+        return submit(dao::getStudentsByMajor);
+    }
+
+    public CompletableFuture<List<Student>> getStudentsWithGPAAbove(double minGpa, int limit) {
+        return submit(() -> dao.getStudentsWithGPAAbove(minGpa, limit));
+    }
+
+    public CompletableFuture<List<Student>> getStudentsWithGPAAbove(String major, double minGpa, int limit) {
+        return submit(() -> dao.getStudentsWithGPAAbove(major, minGpa, limit));
+    }
+
+    public CompletableFuture<MajorStatistics> getMajorStatistics() {
+        return submit(dao::getMajorStatistics);
+    }
+
+    public CompletableFuture<Map<String, Long>> countStudentsByMajor() {
+        return submit(dao::countStudentsByMajor);
+    }
+
+    public CompletableFuture<List<Student>> filterStudents(StudentCriteria criteria, int limit) {
+        return submit(() -> dao.filterStudents(criteria, limit));
+    }
+
+    // Batched lookup: IN-list chunks of StudentDAO.MAX_IN_LIST_IDS are fetched in parallel,
+    // each over its own pooled connection, up to the concurrency limit
+    public CompletableFuture<Map<Integer, Student>> getStudentsByIds(int[] ids) {
+        int[] distinct = Arrays.stream(ids).distinct().toArray();
+        List<int[]> chunks = new ArrayList<>();
+        for (int start = 0; start < distinct.length; start += StudentDAO.MAX_IN_LIST_IDS) {
+            chunks.add(Arrays.copyOfRange(distinct, start, Math.min(distinct.length, start + StudentDAO.MAX_IN_LIST_IDS)));
+        }
+        if (chunks.size() <= 1) {
+            return submit(() -> dao.getStudentsByIds(distinct));
+        }
+
+        // Merged in whenComplete rather than thenApply, which would wrap a failure in CompletionException
+        CompletableFuture<Map<Integer, Student>> students = new CompletableFuture<>();
+        fanOut(chunks, chunk -> submit(() -> dao.getStudentsByIds(chunk))).whenComplete((parts, failure) -> {
+            if (failure != null) {
+                students.completeExceptionally(failure);
+                return;
+            }
+            Map<Integer, Student> merged = new HashMap<>(distinct.length * 4 / 3 + 1);
+            parts.forEach(merged::putAll);
+            students.complete(merged);
+        });
+        return students;
+    }
+
+    // Starts one call per input and completes with the results in input order.
+    // The first failure fails the combined future, unwrapped; calls still queued behind it are then cancelled.
+    // Calls already inside the DAO are not stopped: cancelling a CompletableFuture does not reach the
+    // JDBC statement, so they run to completion and hold their pooled connection until then.
+    public <I, R> CompletableFuture<List<R>> fanOut(Collection<I> inputs, Function<I, CompletableFuture<R>> call) {
+        List<CompletableFuture<R>> futures = new ArrayList<>(inputs.size());
+        for (I input : inputs) {
+            futures.add(call.apply(input));
+        }
+
+        CompletableFuture<List<R>> combined = new CompletableFuture<>();
+        if (futures.isEmpty()) {
+            combined.complete(new ArrayList<>());
+            return combined;
+        }
+
+        AtomicInteger remaining = new AtomicInteger(futures.size());
+        for (CompletableFuture<R> future : futures) {
+            future.whenComplete((result, failure) -> {
+                if (failure != null) {
+                    // Completed before the cancels, so their CancellationExceptions cannot win the race
+                    Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                            ? failure.getCause() : failure;
+                    if (combined.completeExceptionally(cause)) {
+                        futures.forEach(f -> f.cancel(false));
+                    }
+                } else if (remaining.decrementAndGet() == 0) {
+                    List<R> results = new ArrayList<>(futures.size());
+                    for (CompletableFuture<R> f : futures) {
+                        results.add(f.join());
+                    }
+                    combined.complete(results);
+                }
+            });
+        }
+        return combined;
+    }
+
+    private <T> CompletableFuture<T> submit(DaoCall<T> call) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            executor.execute(() -> run(call, future));
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(new IllegalStateException("AsyncStudentDAO is closed", e));
+        }
+        return future;
+    }
+
+    private <T> void run(DaoCall<T> call, CompletableFuture<T> future) {
+        // Cancelled while queued: skip the database entirely
+        if (future.isDone()) {
+            return;
+        }
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.completeExceptionally(e);
+            return;
+        }
+        try {
+            if (!future.isDone()) {
+                future.complete(call.call());
+            }
+        } catch (Throwable t) {
+            future.completeExceptionally(t);
+        } finally {
+            permits.release();
+        }
+    }
+
+    // Stops accepting calls; calls already submitted still run
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,79 @@
+package dao;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Per-row outcome of a StudentDAO batch operation, indexed in input order
+public class BatchResult {
+    public enum Outcome {
+        SUCCESS,
+        INVALID,
+        DUPLICATE_EMAIL,
+        NOT_FOUND,
+        FAILED
+    }
+
+    private final Outcome[] outcomes;
+    private final String[] messages;
+
+    BatchResult(int size) {
+        this.outcomes = new Outcome[size];
+        this.messages = new String[size];
+    }
+
+    void set(int index, Outcome outcome, String message) {
+        outcomes[index] = outcome;
+        messages[index] = message;
+    }
+
+    boolean isDecided(int index) {
+        return outcomes[index] != null;
+    }
+
+    public int size() {
+        return outcomes.length;
+    }
+
+    public Outcome getOutcome(int index) {
+        return outcomes[index];
+    }
+
+    // Reason for a failed row, or null for successful rows
+    public String getMessage(int index) {
+        return messages[index];
+    }
+
+    public int getSuccessCount() {
+        int count = 0;
+        for (Outcome outcome : outcomes) {
+            if (outcome == Outcome.SUCCESS) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public int getFailureCount() {
+        return outcomes.length - getSuccessCount();
+    }
+
+    public boolean isAllSuccessful() {
+        return getFailureCount() == 0;
+    }
+
+    public List<Integer> indexesWith(Outcome outcome) {
+        List<Integer> indexes = new ArrayList<>();
+        for (int i = 0; i < outcomes.length; i++) {
+            if (outcomes[i] == outcome) {
+                indexes.add(i);
+            }
+        }
+        return indexes;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchResult{size=" + outcomes.length + ", succeeded=" + getSuccessCount()
+                + ", failed=" + getFailureCount() + "}";
+    }
+}
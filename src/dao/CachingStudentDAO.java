@@ -0,0 +1,178 @@
+package dao;
+
+import exception.*;
+import model.Student;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// StudentDAO with a read-through cache for single-student lookups.
+// Writes made through this DAO update or invalidate the cached entries. A read-through only caches
+// what it loaded if the id was not written or invalidated while it was at the database, so it can
+// neither undo a concurrent update nor bring back a concurrently deleted row.
+public class CachingStudentDAO extends StudentDAO {
+    private final StudentCache cache;
+
+    public CachingStudentDAO() {
+        this(10_000, 5, TimeUnit.MINUTES);
+    }
+
+    public CachingStudentDAO(int maxSize, long ttl, TimeUnit unit) {
+        this.cache = new StudentCache(maxSize, ttl, unit);
+    }
+
+    public StudentCache getCache() {
+        return cache;
+    }
+
+    @Override
+    public Student getStudentById(int id) throws SQLException {
+        Student cached = cache.get(id);
+        if (cached != null) {
+            return cached;
+        }
+
+        long stamp = cache.loadStamp();
+        Student student = super.getStudentById(id);
+        if (student != null) {
+            cache.putLoaded(student, stamp);
+        }
+        return student;
+    }
+
+    @Override
+    public Student getStudentByEmail(String email) throws SQLException {
+        Integer id = cache.getIdByEmail(email);
+        if (id != null) {
+            Student cached = cache.get(id);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        long stamp = cache.loadStamp();
+        Student student = super.getStudentByEmail(email);
+        if (student != null) {
+            cache.putLoaded(student, stamp);
+        }
+        return student;
+    }
+
+    // Cached students are served directly; only the misses go to the database, in one batched lookup
+    @Override
+    public Map<Integer, Student> getStudentsByIds(int[] ids) throws SQLException {
+        Map<Integer, Student> students = new HashMap<>();
+        int[] misses = new int[ids.length];
+        int missCount = 0;
+        for (int id : ids) {
+            if (students.containsKey(id)) {
+                continue;
+            }
+            Student cached = cache.get(id);
+            if (cached != null) {
+                students.put(id, cached);
+            } else {
+                misses[missCount++] = id;
+            }
+        }
+
+        if (missCount > 0) {
+            long stamp = cache.loadStamp();
+            Map<Integer, Student> loaded = super.getStudentsByIds(Arrays.copyOf(misses, missCount));
+            for (Student student : loaded.values()) {
+                cache.putLoaded(student, stamp);
+            }
+            students.putAll(loaded);
+        }
+        return students;
+    }
+
+    @Override
+    public Student updateStudent(Student student) throws StudentNotFoundException, InvalidGPAException,
+            InvalidEmailException, SQLException {
+        Student updated;
+        try {
+            updated = super.updateStudent(student);
+        } catch (Exception e) {
+            cache.invalidate(student.getId());
+            throw e;
+        }
+        // The update reports the version the database assigned, so the row is current
+        cache.put(updated);
+        return updated;
+    }
+
+    @Override
+    public Student updateStudentIfUnchanged(Student student) throws StudentNotFoundException, StaleStudentException,
+            InvalidGPAException, InvalidEmailException, SQLException {
+        Student updated;
+        try {
+            updated = super.updateStudentIfUnchanged(student);
+        } catch (Exception e) {
+            cache.invalidate(student.getId());
+            throw e;
+        }
+        cache.put(updated);
+        return updated;
+    }
+
+    @Override
+    public void deleteStudent(int id) throws StudentNotFoundException, SQLException {
+        try {
+            super.deleteStudent(id);
+        } finally {
+            cache.invalidate(id);
+        }
+    }
+
+    @Override
+    public BatchResult addStudents(Collection<Student> students) throws SQLException {
+        BatchResult result = super.addStudents(students);
+        int i = 0;
+        for (Student student : students) {
+            if (result.getOutcome(i++) == BatchResult.Outcome.SUCCESS) {
+                cache.put(student);
+            }
+        }
+        return result;
+    }
+
+    // Updated rows are cached with the version the database assigned them, so a read-through that loaded
+    // the old row while the batch ran cannot put it back; every other row is dropped
+    @Override
+    public BatchResult updateStudents(Collection<Student> students) throws SQLException {
+        BatchResult result;
+        try {
+            result = super.updateStudents(students);
+        } catch (SQLException | RuntimeException e) {
+            for (Student student : students) {
+                cache.invalidate(student.getId());
+            }
+            throw e;
+        }
+        int i = 0;
+        for (Student student : students) {
+            if (result.getOutcome(i++) == BatchResult.Outcome.SUCCESS) {
+                cache.put(student);
+            } else {
+                cache.invalidate(student.getId());
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public BatchResult deleteStudents(int... ids) throws SQLException {
+        try {
+            return super.deleteStudents(ids);
+        } finally {
+            for (int id : ids) {
+                cache.invalidate(id);
+            }
+        }
+    }
+}
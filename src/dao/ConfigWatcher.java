@@ -0,0 +1,89 @@
+package dao;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+// Watches the directory holding config.properties and re-parses the file when it changes
+public class ConfigWatcher implements AutoCloseable {
+    // Editors often write a file in several steps, so changes are collected for a moment before reloading
+    private static final long SETTLE_MILLIS = 200;
+
+    private final Path file;
+    private final Consumer<DatabaseConfig> onChange;
+    private final WatchService watchService;
+    private final Thread thread;
+
+    public ConfigWatcher(Path file, Consumer<DatabaseConfig> onChange) throws IOException {
+        this.file = file.toAbsolutePath();
+        this.onChange = onChange;
+        this.watchService = FileSystems.getDefault().newWatchService();
+        this.file.getParent().register(watchService,
+                StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY);
+
+        this.thread = new Thread(this::run, "config-watcher");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean changed = drain(key);
+
+                // Collapsing the burst of events a single save produces
+                WatchKey next;
+                while ((next = watchService.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    changed |= drain(next);
+                }
+
+                if (changed) {
+                    reload();
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Watcher was closed
+        }
+    }
+
+    private boolean drain(WatchKey key) {
+        boolean changed = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            Object context = event.context();
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW
+                    || (context instanceof Path && file.getFileName().equals(context))) {
+                changed = true;
+            }
+        }
+        key.reset();
+        return changed;
+    }
+
+    private void reload() {
+        try {
+            onChange.accept(DatabaseConfig.load(file));
+        } catch (IOException | IllegalArgumentException e) {
+            // Keeping the previous snapshot until the file is valid again
+            System.err.println("Ignoring invalid " + file.getFileName() + ": " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            System.err.println("Could not close config watcher: " + e.getMessage());
+        }
+        thread.interrupt();
+    }
+}
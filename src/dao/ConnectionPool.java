@@ -0,0 +1,538 @@
+package dao;
+
+import metrics.StudentMetrics;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.util.Iterator;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public class ConnectionPool implements AutoCloseable, ConnectionPoolMBean {
+
+    // Connections used within this window are handed out again without a ping
+    private static final long VALIDATION_SKIP_WINDOW_MS = 500;
+    private static final int VALIDATION_TIMEOUT_SECONDS = 5;
+    private static final long MAX_WAIT_SLICE_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    // A replication connection joins its ReplicationConnectionGroup when opened and leaves it when closed, and
+    // the group's host changes walk those connections without a lock of their own. Physical connections are
+    // therefore opened and closed under the read lock, and ReplicaLagMonitor changes a group under the write lock.
+    static final ReadWriteLock REPLICATION_GROUPS = new ReentrantReadWriteLock();
+
+    private final String url;
+    private final Properties connectionProps;
+    private final int minSize;
+    private final int maxSize;
+    private final long maxWaitMillis;
+    private final long idleTimeoutMillis;
+    private final long leakDetectionThresholdMillis;
+
+    // Most recently returned connections sit at the head so borrowers get the warmest one
+    private final LinkedBlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+    private final Set<PooledConnection> borrowed = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger totalConnections = new AtomicInteger();
+    private final ScheduledExecutorService housekeeper;
+    private volatile boolean closed;
+
+    // Metrics
+    private final LongAdder borrowCount = new LongAdder();
+    private final LongAdder waitTimeNanos = new LongAdder();
+    private final AtomicLong maxWaitTimeNanos = new AtomicLong();
+    private final LongAdder timeoutCount = new LongAdder();
+    private final LongAdder createdCount = new LongAdder();
+    private final LongAdder evictedCount = new LongAdder();
+    private final LongAdder validationFailureCount = new LongAdder();
+    private final LongAdder leakCount = new LongAdder();
+    private final LongAdder connectFailureCount = new LongAdder();
+    // Background threads have no caller to throw to, so their last problem is kept for JMX instead
+    private volatile String lastFailure;
+    private volatile String lastLeakTrace;
+
+    public ConnectionPool(String url, Properties connectionProps, int minSize, int maxSize,
+                          long maxWaitMillis, long idleTimeoutMillis, long leakDetectionThresholdMillis) {
+        if (maxSize < 1 || minSize < 0 || minSize > maxSize) {
+            throw new IllegalArgumentException("Invalid pool size: min=" + minSize + ", max=" + maxSize);
+        }
+        this.url = url;
+        this.connectionProps = connectionProps;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.maxWaitMillis = maxWaitMillis;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.leakDetectionThresholdMillis = leakDetectionThresholdMillis;
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "connection-pool-housekeeper");
+            t.setDaemon(true);
+            return t;
+        });
+        long period = Math.min(30_000, idleTimeoutMillis / 2);
+        if (leakDetectionThresholdMillis > 0) {
+            period = Math.min(period, leakDetectionThresholdMillis);
+        }
+        period = Math.max(1000, period);
+        housekeeper.scheduleWithFixedDelay(this::housekeep, period, period, TimeUnit.MILLISECONDS);
+        housekeeper.execute(this::fillToMinimum);
+    }
+
+    // Borrowing a connection; closing the returned connection gives it back to the pool
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool has been closed");
+        }
+
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+
+        while (true) {
+            PooledConnection pc = idle.pollFirst();
+
+            if (pc == null && !tryReserveSlot()) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    timeoutCount.increment();
+                    throw new SQLTransientConnectionException("Timed out after " + maxWaitMillis
+                            + "ms waiting for a database connection (active=" + borrowed.size()
+                            + ", max=" + maxSize + ")");
+                }
+                try {
+                    // Waking up periodically so a slot freed by a discarded connection is noticed too
+                    pc = idle.pollFirst(Math.min(remaining, MAX_WAIT_SLICE_NANOS), TimeUnit.NANOSECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new SQLException("Interrupted while waiting for a database connection", e);
+                }
+                if (pc == null) {
+                    continue;
+                }
+            }
+
+            if (pc == null) {
+                // A slot was reserved above, so open a brand new physical connection
+                try {
+                    pc = new PooledConnection(openPhysical(url, connectionProps));
+                    createdCount.increment();
+                } catch (SQLException e) {
+                    totalConnections.decrementAndGet();
+                    throw e;
+                }
+            } else if (!isUsable(pc)) {
+                validationFailureCount.increment();
+                discard(pc);
+                continue;
+            }
+
+            recordWait(System.nanoTime() - start);
+            return pc.borrow();
+        }
+    }
+
+    private boolean tryReserveSlot() {
+        while (true) {
+            int current = totalConnections.get();
+            if (current >= maxSize) {
+                return false;
+            }
+            if (totalConnections.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private boolean isUsable(PooledConnection pc) {
+        if (System.currentTimeMillis() - pc.lastUsedAt < VALIDATION_SKIP_WINDOW_MS) {
+            return true;
+        }
+        try {
+            // Connector/J answers isValid() with a COM_PING round trip
+            return pc.physical.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void recordWait(long nanos) {
+        borrowCount.increment();
+        waitTimeNanos.add(nanos);
+        maxWaitTimeNanos.accumulateAndGet(nanos, Math::max);
+        StudentMetrics.get().recordConnectionAcquire(nanos);
+    }
+
+    private void release(PooledConnection pc) {
+        borrowed.remove(pc);
+        pc.lastUsedAt = System.currentTimeMillis();
+
+        try {
+            if (closed || pc.physical.isClosed()) {
+                discard(pc);
+                return;
+            }
+            // Never hand open statements, a half-finished transaction or a changed session state to the next borrower
+            pc.closeOpenStatements();
+            if (!pc.physical.getAutoCommit()) {
+                pc.physical.rollback();
+                pc.physical.setAutoCommit(true);
+            }
+            if (pc.physical.isReadOnly()) {
+                pc.physical.setReadOnly(false);
+            }
+            pc.physical.clearWarnings();
+        } catch (SQLException e) {
+            discard(pc);
+            return;
+        }
+
+        idle.offerFirst(pc);
+    }
+
+    private void discard(PooledConnection pc) {
+        totalConnections.decrementAndGet();
+        try {
+            closePhysical(pc.physical);
+        } catch (SQLException ignored) {
+            // The connection is already unusable
+        }
+    }
+
+    static Connection openPhysical(String url, Properties props) throws SQLException {
+        REPLICATION_GROUPS.readLock().lock();
+        try {
+            return DriverManager.getConnection(url, props);
+        } finally {
+            REPLICATION_GROUPS.readLock().unlock();
+        }
+    }
+
+    static void closePhysical(Connection conn) throws SQLException {
+        REPLICATION_GROUPS.readLock().lock();
+        try {
+            conn.close();
+        } finally {
+            REPLICATION_GROUPS.readLock().unlock();
+        }
+    }
+
+    // A connection kept out of the pool (see DatabaseConnection.openDedicatedConnection), opened and closed
+    // under the same lock as pooled ones
+    static Connection openUnpooled(String url, Properties props) throws SQLException {
+        Connection physical = openPhysical(url, props);
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("close") && method.getParameterCount() == 0) {
+                        closePhysical(physical);
+                        return null;
+                    }
+                    try {
+                        return method.invoke(physical, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    private void fillToMinimum() {
+        while (!closed && totalConnections.get() < minSize && tryReserveSlot()) {
+            try {
+                idle.offerLast(new PooledConnection(openPhysical(url, connectionProps)));
+                createdCount.increment();
+            } catch (SQLException e) {
+                totalConnections.decrementAndGet();
+                connectFailureCount.increment();
+                lastFailure = "Could not open a connection: " + e.getMessage();
+                return;
+            }
+        }
+    }
+
+    private void housekeep() {
+        try {
+            long now = System.currentTimeMillis();
+
+            // Evicting idle connections above the minimum size, starting from the tail where the
+            // least recently used ones collect
+            Iterator<PooledConnection> stalestFirst = idle.descendingIterator();
+            while (stalestFirst.hasNext() && totalConnections.get() > minSize) {
+                PooledConnection pc = stalestFirst.next();
+                if (now - pc.lastUsedAt > idleTimeoutMillis && idle.removeLastOccurrence(pc)) {
+                    evictedCount.increment();
+                    discard(pc);
+                }
+            }
+
+            if (leakDetectionThresholdMillis > 0) {
+                for (PooledConnection pc : borrowed) {
+                    if (!pc.leakReported && now - pc.borrowedAt > leakDetectionThresholdMillis) {
+                        pc.leakReported = true;
+                        leakCount.increment();
+                        lastLeakTrace = describeLeak(pc, now);
+                    }
+                }
+            }
+
+            fillToMinimum();
+        } catch (RuntimeException e) {
+            lastFailure = "Housekeeping failed: " + e;
+        }
+    }
+
+    private static String describeLeak(PooledConnection pc, long now) {
+        String summary = "Connection borrowed " + (now - pc.borrowedAt) + "ms ago has not been returned";
+        if (pc.borrowTrace == null) {
+            return summary;
+        }
+        StringWriter trace = new StringWriter();
+        pc.borrowTrace.printStackTrace(new PrintWriter(trace));
+        return summary + "\n" + trace;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        housekeeper.shutdownNow();
+        PooledConnection pc;
+        while ((pc = idle.pollFirst()) != null) {
+            discard(pc);
+        }
+    }
+
+    // Pool statistics
+    public int getActiveConnections() {
+        return borrowed.size();
+    }
+
+    public int getIdleConnections() {
+        return idle.size();
+    }
+
+    public int getTotalConnections() {
+        return totalConnections.get();
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long getBorrowCount() {
+        return borrowCount.sum();
+    }
+
+    public double getAverageWaitMillis() {
+        long count = borrowCount.sum();
+        return count == 0 ? 0.0 : waitTimeNanos.sum() / (count * 1_000_000.0);
+    }
+
+    public double getMaxWaitMillis() {
+        return maxWaitTimeNanos.get() / 1_000_000.0;
+    }
+
+    public long getTimeoutCount() {
+        return timeoutCount.sum();
+    }
+
+    public long getCreatedCount() {
+        return createdCount.sum();
+    }
+
+    public long getEvictedCount() {
+        return evictedCount.sum();
+    }
+
+    public long getValidationFailureCount() {
+        return validationFailureCount.sum();
+    }
+
+    public long getLeakCount() {
+        return leakCount.sum();
+    }
+
+    public long getConnectFailureCount() {
+        return connectFailureCount.sum();
+    }
+
+    public String getLastFailure() {
+        return lastFailure;
+    }
+
+    public String getLastLeakTrace() {
+        return lastLeakTrace;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ConnectionPool{active=%d, idle=%d, total=%d, max=%d, borrows=%d, avgWait=%.2fms, "
+                        + "maxWait=%.2fms, timeouts=%d, created=%d, evicted=%d, validationFailures=%d, leaks=%d}",
+                getActiveConnections(), getIdleConnections(), getTotalConnections(), maxSize, getBorrowCount(),
+                getAverageWaitMillis(), getMaxWaitMillis(), getTimeoutCount(), getCreatedCount(),
+                getEvictedCount(), getValidationFailureCount(), getLeakCount());
+    }
+
+    // A physical connection plus its bookkeeping; borrowers only ever see a proxy
+    private class PooledConnection implements InvocationHandler {
+        private final Connection physical;
+        private volatile long lastUsedAt = System.currentTimeMillis();
+        private volatile long borrowedAt;
+        private volatile boolean leakReported;
+        private volatile Throwable borrowTrace;
+        // The proxy of the current borrow; closing it claims it, so a second close cannot release twice
+        private final AtomicReference<Connection> handle = new AtomicReference<>();
+        // Statements the current borrower created and has not closed yet; release closes the rest
+        private final Set<Statement> openStatements = ConcurrentHashMap.newKeySet();
+
+        PooledConnection(Connection physical) {
+            this.physical = physical;
+        }
+
+        Connection borrow() {
+            borrowedAt = System.currentTimeMillis();
+            leakReported = false;
+            borrowTrace = leakDetectionThresholdMillis > 0 ? new Throwable("Connection borrowed here") : null;
+            borrowed.add(this);
+            Connection proxy = (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, this);
+            handle.set(proxy);
+            return proxy;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            boolean current = proxy == handle.get();
+
+            switch (name) {
+                case "close":
+                    if (handle.compareAndSet((Connection) proxy, null)) {
+                        release(this);
+                    }
+                    return null;
+                case "isClosed":
+                    return !current || physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Pooled" + physical;
+                default:
+                    break;
+            }
+
+            if (!current) {
+                throw new SQLException("Connection has already been returned to the pool");
+            }
+            Object result;
+            try {
+                result = method.invoke(physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+
+            if (result instanceof Statement) {
+                openStatements.add((Statement) result);
+            }
+            return wrapChild(method.getReturnType(), result, (Connection) proxy, null, this);
+        }
+
+        void closeOpenStatements() throws SQLException {
+            SQLException failure = null;
+            for (Statement statement : openStatements) {
+                try {
+                    statement.close();
+                } catch (SQLException e) {
+                    if (failure == null) {
+                        failure = e;
+                    } else {
+                        failure.addSuppressed(e);
+                    }
+                }
+            }
+            openStatements.clear();
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+
+    // Statements, metadata and result sets are handed out as BorrowedChild proxies; anything else as is
+    private static Object wrapChild(Class<?> type, Object result, Connection handle, Object parent,
+                                    PooledConnection owner) {
+        if (result != null && (Statement.class.isAssignableFrom(type) || type == DatabaseMetaData.class
+                || type == ResultSet.class)) {
+            return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                    new BorrowedChild(result, handle, parent, owner));
+        }
+        return result;
+    }
+
+    // A statement, metadata object or result set of a borrowed connection. getConnection() answers with the
+    // pooled handle and ResultSet.getStatement() with the statement proxy, never the physical objects, so
+    // closing what they return gives the connection back instead of killing it for every later borrower.
+    private static final class BorrowedChild implements InvocationHandler {
+        private final Object target;
+        private final Connection handle;
+        // The statement proxy a result set came from; null for statements, metadata and metadata result sets
+        private final Object parent;
+        private final PooledConnection owner;
+
+        BorrowedChild(Object target, Connection handle, Object parent, PooledConnection owner) {
+            this.target = target;
+            this.handle = handle;
+            this.parent = parent;
+            this.owner = owner;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "getConnection":
+                    return handle;
+                case "getStatement":
+                    if (target instanceof ResultSet) {
+                        return parent;
+                    }
+                    break;
+                case "close":
+                    if (target instanceof Statement) {
+                        owner.openStatements.remove(target);
+                    }
+                    break;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            return wrapChild(method.getReturnType(), result, handle,
+                    target instanceof Statement ? proxy : null, owner);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package dao;
+
+// JMX view of the active ConnectionPool, registered as studentmanagement:type=ConnectionPool
+public interface ConnectionPoolMBean {
+    int getActiveConnections();
+
+    int getIdleConnections();
+
+    int getTotalConnections();
+
+    int getMaxSize();
+
+    long getBorrowCount();
+
+    double getAverageWaitMillis();
+
+    double getMaxWaitMillis();
+
+    long getTimeoutCount();
+
+    long getCreatedCount();
+
+    long getEvictedCount();
+
+    long getValidationFailureCount();
+
+    long getLeakCount();
+
+    long getConnectFailureCount();
+
+    // Last failure of the background fill or housekeeping, or null
+    String getLastFailure();
+
+    // Borrow stack trace of the most recently detected leak, or null
+    String getLastLeakTrace();
+}
@@ -0,0 +1,261 @@
+package dao;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.stream.Collectors;
+
+// Immutable snapshot of config.properties, parsed once and shared by every connection request
+public final class DatabaseConfig {
+    static final String FILE_NAME = "config.properties";
+    private static final String PLAIN_URL_PREFIX = "jdbc:mysql://";
+    private static final String REPLICATION_URL_PREFIX = "jdbc:mysql:replication://";
+    private static final int DEFAULT_PORT = 3306;
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final int poolMinSize;
+    private final int poolMaxSize;
+    private final long poolMaxWaitMillis;
+    private final long poolIdleTimeoutMillis;
+    private final long poolLeakDetectionMillis;
+    // Not part of equals: changing it restarts the metrics dump without rebuilding the pool
+    private final long metricsDumpIntervalSeconds;
+    private final boolean profilingEnabled;
+    private final long slowQueryMillis;
+    // host:port of each read replica of db.url; empty when every query goes to db.url
+    private final List<String> replicas;
+    // Not part of equals: like the metrics dump, the lag monitor is restarted without rebuilding the pool
+    private final long replicaMaxLagSeconds;
+    private final long replicaLagCheckSeconds;
+    private final Path source;
+
+    private DatabaseConfig(Properties props, Path source) {
+        this.url = props.getProperty("db.url");
+        this.user = props.getProperty("db.user");
+        this.password = props.getProperty("db.password");
+        this.poolMinSize = Integer.parseInt(props.getProperty("db.pool.minSize", "2").trim());
+        this.poolMaxSize = Integer.parseInt(props.getProperty("db.pool.maxSize", "10").trim());
+        this.poolMaxWaitMillis = Long.parseLong(props.getProperty("db.pool.maxWaitMs", "30000").trim());
+        this.poolIdleTimeoutMillis = Long.parseLong(props.getProperty("db.pool.idleTimeoutMs", "600000").trim());
+        this.poolLeakDetectionMillis = Long.parseLong(props.getProperty("db.pool.leakDetectionMs", "0").trim());
+        this.metricsDumpIntervalSeconds = Long.parseLong(props.getProperty("metrics.dumpIntervalSeconds", "0").trim());
+        this.profilingEnabled = Boolean.parseBoolean(props.getProperty("db.profiling.enabled", "true").trim());
+        this.slowQueryMillis = Long.parseLong(props.getProperty("db.profiling.slowQueryMillis", "500").trim());
+        this.replicas = parseHosts(props.getProperty("db.replicas", ""));
+        this.replicaMaxLagSeconds = Long.parseLong(props.getProperty("db.replica.maxLagSeconds", "30").trim());
+        this.replicaLagCheckSeconds = Long.parseLong(props.getProperty("db.replica.lagCheckSeconds", "10").trim());
+        this.source = source;
+
+        if (url == null || url.isBlank()) {
+            throw new IllegalArgumentException("db.url is missing from " + FILE_NAME);
+        }
+        if (!replicas.isEmpty() && !url.startsWith(PLAIN_URL_PREFIX)) {
+            throw new IllegalArgumentException("db.replicas needs a db.url starting with " + PLAIN_URL_PREFIX);
+        }
+    }
+
+    private static List<String> parseHosts(String list) {
+        if (list.isBlank()) {
+            return Collections.emptyList();
+        }
+        return Collections.unmodifiableList(Arrays.stream(list.split(","))
+                .map(String::trim).filter(host -> !host.isEmpty())
+                // The connector names hosts host:port, and the lag monitor looks them up by that name
+                .map(host -> host.contains(":") ? host : host + ":" + DEFAULT_PORT)
+                .collect(Collectors.toList()));
+    }
+
+    // Loading from the classpath first (resources folder), then from the working directory
+    public static DatabaseConfig load() throws IOException {
+        URL resource = DatabaseConfig.class.getClassLoader().getResource(FILE_NAME);
+        if (resource != null) {
+            Properties props = new Properties();
+            try (InputStream is = resource.openStream()) {
+                props.load(is);
+            }
+            return new DatabaseConfig(props, toPath(resource));
+        }
+
+        return load(Paths.get(FILE_NAME).toAbsolutePath());
+    }
+
+    public static DatabaseConfig load(Path file) throws IOException {
+        Properties props = new Properties();
+        try (InputStream is = Files.newInputStream(file)) {
+            props.load(is);
+        }
+        return new DatabaseConfig(props, file);
+    }
+
+    // Settings built in code rather than read from a file, e.g. by benchmarks pointing at a local server
+    public static DatabaseConfig fromProperties(Properties props) {
+        return new DatabaseConfig(props, null);
+    }
+
+    // Only configurations backed by a plain file can be watched for changes
+    private static Path toPath(URL resource) {
+        if (!"file".equals(resource.getProtocol())) {
+            return null;
+        }
+        try {
+            return Paths.get(resource.toURI());
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    // URL the pool connects to: db.url itself, or a replication URL with db.url's host as the source and
+    // db.replicas as replicas. Replication connections use the source until setReadOnly(true).
+    public String getConnectionUrl() {
+        if (replicas.isEmpty()) {
+            return url;
+        }
+        String rest = url.substring(PLAIN_URL_PREFIX.length());
+        int hostsEnd = rest.length();
+        for (char c : new char[]{'/', '?'}) {
+            int index = rest.indexOf(c);
+            if (index >= 0) {
+                hostsEnd = Math.min(hostsEnd, index);
+            }
+        }
+        return REPLICATION_URL_PREFIX + rest.substring(0, hostsEnd) + "," + String.join(",", replicas)
+                + rest.substring(hostsEnd);
+    }
+
+    // ReplicationConnectionGroupManager group shared by the pool's connections; named after the hosts, because
+    // a group keeps the host list it was first created with
+    public String getReplicationGroup() {
+        return "studentmanagement-" + Integer.toHexString(Objects.hash(url, replicas));
+    }
+
+    // Driver properties for DriverManager.getConnection
+    public Properties toConnectionProperties() {
+        Properties connectionProps = new Properties();
+        connectionProps.setProperty("user", user);
+        connectionProps.setProperty("password", password);
+        connectionProps.setProperty("useSSL", "false");
+        connectionProps.setProperty("serverTimezone", "UTC");
+        connectionProps.setProperty("allowPublicKeyRetrieval", "true");
+        // Lets the driver collapse batched INSERTs into multi-row statements
+        connectionProps.setProperty("rewriteBatchedStatements", "true");
+        if (profilingEnabled) {
+            // Times every statement for the slow query log and QueryProfiler's top-N report
+            connectionProps.setProperty("queryInterceptors", ProfilingQueryInterceptor.class.getName());
+            connectionProps.setProperty("exceptionInterceptors", ProfilingExceptionInterceptor.class.getName());
+            connectionProps.setProperty(ProfilingQueryInterceptor.SLOW_QUERY_MILLIS_PROPERTY,
+                    Long.toString(slowQueryMillis));
+        }
+        if (!replicas.isEmpty()) {
+            connectionProps.setProperty("replicationConnectionGroup", getReplicationGroup());
+            // Reads fall back to the source while every replica is down or held back for lag
+            connectionProps.setProperty("readFromSourceWhenNoReplicas", "true");
+            connectionProps.setProperty("allowReplicaDownConnections", "true");
+            // Publishes the connector's ReplicationGroupManager MBean next to the application's own
+            connectionProps.setProperty("ha.enableJMX", "true");
+        }
+        return connectionProps;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public String getUser() {
+        return user;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public int getPoolMinSize() {
+        return poolMinSize;
+    }
+
+    public int getPoolMaxSize() {
+        return poolMaxSize;
+    }
+
+    public long getPoolMaxWaitMillis() {
+        return poolMaxWaitMillis;
+    }
+
+    public long getPoolIdleTimeoutMillis() {
+        return poolIdleTimeoutMillis;
+    }
+
+    public long getPoolLeakDetectionMillis() {
+        return poolLeakDetectionMillis;
+    }
+
+    public boolean isProfilingEnabled() {
+        return profilingEnabled;
+    }
+
+    public long getSlowQueryMillis() {
+        return slowQueryMillis;
+    }
+
+    public boolean hasReplicas() {
+        return !replicas.isEmpty();
+    }
+
+    public List<String> getReplicas() {
+        return replicas;
+    }
+
+    public long getReplicaMaxLagSeconds() {
+        return replicaMaxLagSeconds;
+    }
+
+    public long getReplicaLagCheckSeconds() {
+        return replicaLagCheckSeconds;
+    }
+
+    public long getMetricsDumpIntervalSeconds() {
+        return metricsDumpIntervalSeconds;
+    }
+
+    // File the snapshot was read from, or null when it came from inside a jar
+    public Path getSource() {
+        return source;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        DatabaseConfig that = (DatabaseConfig) o;
+        return poolMinSize == that.poolMinSize && poolMaxSize == that.poolMaxSize
+                && poolMaxWaitMillis == that.poolMaxWaitMillis
+                && poolIdleTimeoutMillis == that.poolIdleTimeoutMillis
+                && poolLeakDetectionMillis == that.poolLeakDetectionMillis
+                && profilingEnabled == that.profilingEnabled && slowQueryMillis == that.slowQueryMillis
+                && Objects.equals(url, that.url) && Objects.equals(user, that.user)
+                && Objects.equals(password, that.password) && replicas.equals(that.replicas);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(url, user, password, poolMinSize, poolMaxSize,
+                poolMaxWaitMillis, poolIdleTimeoutMillis, poolLeakDetectionMillis, profilingEnabled, slowQueryMillis,
+                replicas);
+    }
+
+    @Override
+    public String toString() {
+        return "DatabaseConfig{url='" + url + "', user='" + user + "', pool=" + poolMinSize + ".." + poolMaxSize
+                + ", replicas=" + replicas + ", source=" + source + "}";
+    }
+}
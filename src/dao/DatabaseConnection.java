@@ -1,65 +1,233 @@
 package dao;
 
-import java.io.FileInputStream;
+import metrics.MetricsJmx;
+import metrics.QueryProfiler;
+import metrics.StudentMetrics;
+
 import java.io.IOException;
-import java.io.InputStream;
 import java.sql.*;
 import java.util.Properties;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class DatabaseConnection {
 
-    // Loading database settings from the config.properties file
-    private static Properties loadProperties() throws IOException {
-        Properties props = new Properties();
+    // Current configuration snapshot; replaced atomically when config.properties changes on disk
+    private static final AtomicReference<DatabaseConfig> config = new AtomicReference<>();
+    private static volatile ConnectionPool pool;
+    private static ConfigWatcher watcher;
+    private static ReplicaLagMonitor lagMonitor;
+    private static boolean shutdownHookRegistered;
+
+    // Parsing config.properties once; later changes arrive through the watcher
+    public static DatabaseConfig getConfig() throws SQLException {
+        DatabaseConfig current = config.get();
+        if (current != null) {
+            return current;
+        }
 
-        // 1) Try to load from classpath (allows placing config.properties inside resources)
-        try (InputStream is = DatabaseConnection.class.getClassLoader().getResourceAsStream("config.properties")) {
-            if (is != null) {
-                props.load(is);
-                return props;
+        synchronized (DatabaseConnection.class) {
+            if (config.get() == null) {
+                try {
+                    DatabaseConfig loaded = DatabaseConfig.load();
+                    config.set(loaded);
+                    startWatching(loaded);
+                    StudentMetrics.get().registerJmx();
+                    QueryProfiler.get().registerJmx();
+                    StudentMetrics.get().startPeriodicDump(loaded.getMetricsDumpIntervalSeconds());
+                    startLagMonitor(loaded);
+                } catch (IOException e) {
+                    throw new SQLException("Could not load config.properties", e);
+                } catch (IllegalArgumentException e) {
+                    throw new SQLException("Invalid settings in config.properties", e);
+                }
             }
+            return config.get();
         }
+    }
 
-        // 2) Fallback to loading from working directory (project root)
-        try (FileInputStream fis = new FileInputStream("config.properties")) {
-            props.load(fis);
+    private static void startWatching(DatabaseConfig loaded) {
+        if (loaded.getSource() == null) {
+            return;
         }
+        try {
+            watcher = new ConfigWatcher(loaded.getSource(), DatabaseConnection::applyConfig);
+        } catch (IOException e) {
+            System.err.println("Could not watch config.properties for changes: " + e.getMessage());
+        }
+    }
 
-        return props;
+    // Replacing config.properties with settings built in code; nothing is watched for changes afterwards
+    public static void useConfig(DatabaseConfig replacement) {
+        synchronized (DatabaseConnection.class) {
+            if (watcher != null) {
+                watcher.close();
+                watcher = null;
+            }
+            if (config.get() == null) {
+                config.set(replacement);
+                StudentMetrics.get().registerJmx();
+                QueryProfiler.get().registerJmx();
+            }
+        }
+        applyConfig(replacement);
+    }
+
+    // Swapping in a new snapshot; the old pool drains as its borrowed connections are returned
+    private static void applyConfig(DatabaseConfig updated) {
+        ConnectionPool retired;
+        StudentMetrics.get().startPeriodicDump(updated.getMetricsDumpIntervalSeconds());
+        startLagMonitor(updated);
+        synchronized (DatabaseConnection.class) {
+            if (updated.equals(config.get())) {
+                return;
+            }
+            config.set(updated);
+            retired = pool;
+            pool = null;
+        }
+
+        if (retired != null) {
+            retired.close();
+        }
+        System.out.println("Database configuration reloaded: " + updated);
     }
 
-    // Establishing a connection to the database
+    // Restarting the lag monitor only when the replicas or their lag settings changed
+    private static synchronized void startLagMonitor(DatabaseConfig cfg) {
+        if (lagMonitor != null && lagMonitor.isMonitoring(cfg)) {
+            return;
+        }
+        stopLagMonitor();
+        if (cfg.hasReplicas() && cfg.getReplicaLagCheckSeconds() > 0) {
+            lagMonitor = new ReplicaLagMonitor(cfg);
+            MetricsJmx.register("ReplicaLagMonitor", lagMonitor);
+        }
+    }
+
+    private static synchronized void stopLagMonitor() {
+        if (lagMonitor != null) {
+            lagMonitor.close();
+            lagMonitor = null;
+            MetricsJmx.unregister("ReplicaLagMonitor");
+        }
+    }
+
+    // Borrowing a connection from the pool; closing it returns it to the pool
     public static Connection getConnection() throws SQLException {
-        try {
-            Properties props = loadProperties();
-            String url = props.getProperty("db.url");
-            String user = props.getProperty("db.user");
-            String password = props.getProperty("db.password");
+        return getPool().getConnection();
+    }
+
+    // Borrowing a connection for queries that tolerate replica lag (scans, reports, searches). With db.replicas
+    // set it reads from a replica that is in rotation, or from the source when none is; the pool switches it
+    // back to the source when it is returned.
+    public static Connection getReadConnection() throws SQLException {
+        Connection conn = getConnection();
+        if (getConfig().hasReplicas()) {
+            try {
+                conn.setReadOnly(true);
+            } catch (SQLException e) {
+                conn.close();
+                throw e;
+            }
+        }
+        return conn;
+    }
+
+    public static ConnectionPool getPool() throws SQLException {
+        ConnectionPool current = pool;
+        if (current != null) {
+            return current;
+        }
+
+        synchronized (DatabaseConnection.class) {
+            if (pool == null) {
+                pool = createPool(getConfig());
+                MetricsJmx.register("ConnectionPool", pool);
+                if (!shutdownHookRegistered) {
+                    Runtime.getRuntime().addShutdownHook(new Thread(DatabaseConnection::shutdown, "connection-pool-shutdown"));
+                    shutdownHookRegistered = true;
+                }
+            }
+            return pool;
+        }
+    }
 
+    // Opening an unpooled connection with extra driver properties, for long-running jobs
+    // (bulk import/export) that need session settings the pooled connections must not carry
+    public static Connection openDedicatedConnection(Properties overrides) throws SQLException {
+        DatabaseConfig cfg = getConfig();
+        try {
             Class.forName("com.mysql.cj.jdbc.Driver");
+        } catch (ClassNotFoundException e) {
+            throw new SQLException("MySQL Driver not found", e);
+        }
 
-            Properties connectionProps = new Properties();
-            connectionProps.setProperty("user", user);
-            connectionProps.setProperty("password", password);
-            connectionProps.setProperty("useSSL", "false");
-            connectionProps.setProperty("serverTimezone", "UTC");
-            connectionProps.setProperty("allowPublicKeyRetrieval", "true");
+        Properties connectionProps = cfg.toConnectionProperties();
+        connectionProps.putAll(overrides);
+        // With replicas this is a replication connection on the source; setReadOnly(true) moves it to a replica
+        return ConnectionPool.openUnpooled(cfg.getConnectionUrl(), connectionProps);
+    }
 
-            return DriverManager.getConnection(url, connectionProps);
+    // Dedicated connection for long reads such as exports, on a replica when db.replicas is set
+    public static Connection openDedicatedReadConnection(Properties overrides) throws SQLException {
+        Connection conn = openDedicatedConnection(overrides);
+        if (getConfig().hasReplicas()) {
+            try {
+                conn.setReadOnly(true);
+            } catch (SQLException e) {
+                conn.close();
+                throw e;
+            }
+        }
+        return conn;
+    }
+
+    // Closing all pooled connections and stopping the config watcher
+    public static synchronized void shutdown() {
+        if (pool != null) {
+            pool.close();
+            pool = null;
+            MetricsJmx.unregister("ConnectionPool");
+        }
+        StudentMetrics.get().stopPeriodicDump();
+        stopLagMonitor();
+        if (watcher != null) {
+            watcher.close();
+            watcher = null;
+        }
+    }
+
+    private static ConnectionPool createPool(DatabaseConfig cfg) throws SQLException {
+        try {
+            Class.forName("com.mysql.cj.jdbc.Driver");
+
+            return new ConnectionPool(cfg.getConnectionUrl(), cfg.toConnectionProperties(),
+                    cfg.getPoolMinSize(), cfg.getPoolMaxSize(), cfg.getPoolMaxWaitMillis(),
+                    cfg.getPoolIdleTimeoutMillis(), cfg.getPoolLeakDetectionMillis());
 
         } catch (ClassNotFoundException e) {
             throw new SQLException("MySQL Driver not found", e);
-        } catch (IOException e) {
-            throw new SQLException("Could not load config.properties", e);
+        } catch (IllegalArgumentException e) {
+            throw new SQLException("Invalid connection pool settings in config.properties", e);
         }
     }
 
+    // Secondary indexes backing the GPA, major, enrollment date and search queries in StudentDAO:
+    // {name, kind, columns}
+    private static final String[][] STUDENT_INDEXES = {
+            {"idx_students_gpa", "INDEX", "gpa"},
+            {"idx_students_major_gpa", "INDEX", "major, gpa"},
+            {"idx_students_enrollment_date", "INDEX", "enrollment_date"},
+            {"idx_students_name", "INDEX", "name"},
+            {"ft_students_name_email", "FULLTEXT INDEX", "name, email"}
+    };
+
     // Database and table configuration
     public static void initializeDatabase() {
         try {
-            Properties props = loadProperties();
-            String user = props.getProperty("db.user");
-            String password = props.getProperty("db.password");
+            DatabaseConfig cfg = getConfig();
+            String user = cfg.getUser();
+            String password = cfg.getPassword();
 
             String createDB = "CREATE DATABASE IF NOT EXISTS student_db";
             String useDB = "USE student_db";
@@ -70,7 +238,13 @@ public class DatabaseConnection {
                     email VARCHAR(100) UNIQUE NOT NULL,
                     major VARCHAR(50) NOT NULL,
                     gpa DOUBLE NOT NULL,
-                    enrollment_date DATE NOT NULL
+                    enrollment_date DATE NOT NULL,
+                    version INT NOT NULL DEFAULT 0,
+                    INDEX idx_students_gpa (gpa),
+                    INDEX idx_students_major_gpa (major, gpa),
+                    INDEX idx_students_enrollment_date (enrollment_date),
+                    INDEX idx_students_name (name),
+                    FULLTEXT INDEX ft_students_name_email (name, email)
                 )
             """;
 
@@ -82,15 +256,53 @@ public class DatabaseConnection {
                 stmt.execute(createDB);
                 stmt.execute(useDB);
                 stmt.execute(createTable);
+                ensureVersionColumn(conn);
+                ensureIndexes(conn);
                 System.out.println("Database initialized successfully!");
             }
 
         } catch (SQLException e) {
             System.err.println("Error initializing database: " + e.getMessage());
             e.printStackTrace();
-        } catch (IOException e) {
-            System.err.println("Could not load config.properties: " + e.getMessage());
-            e.printStackTrace();
+        }
+    }
+
+    // The version column is required, not optional: every update writes it, updateStudent reads the new value
+    // back through LAST_INSERT_ID, and the cache and replica use it to drop out-of-order writes.
+    // Tables created before optimistic concurrency existed get it added here.
+    private static void ensureVersionColumn(Connection conn) throws SQLException {
+        String sql = "SELECT 1 FROM information_schema.columns "
+                + "WHERE table_schema = DATABASE() AND table_name = 'students' AND column_name = 'version' LIMIT 1";
+
+        try (Statement stmt = conn.createStatement()) {
+            try (ResultSet rs = stmt.executeQuery(sql)) {
+                if (rs.next()) {
+                    return;
+                }
+            }
+            stmt.execute("ALTER TABLE students ADD COLUMN version INT NOT NULL DEFAULT 0");
+            System.out.println("Added version column to students");
+        }
+    }
+
+    // Tables created before the indexes existed get them added here; MySQL has no CREATE INDEX IF NOT EXISTS
+    private static void ensureIndexes(Connection conn) throws SQLException {
+        String sql = "SELECT 1 FROM information_schema.statistics "
+                + "WHERE table_schema = DATABASE() AND table_name = 'students' AND index_name = ? LIMIT 1";
+
+        try (PreparedStatement check = conn.prepareStatement(sql);
+             Statement stmt = conn.createStatement()) {
+            for (String[] index : STUDENT_INDEXES) {
+                check.setString(1, index[0]);
+                try (ResultSet rs = check.executeQuery()) {
+                    if (rs.next()) {
+                        continue;
+                    }
+                }
+                // The first FULLTEXT index rebuilds the table, which can take a while on a large one
+                stmt.execute("ALTER TABLE students ADD " + index[1] + " " + index[0] + " (" + index[2] + ")");
+                System.out.println("Created index " + index[0]);
+            }
         }
     }
 }
@@ -0,0 +1,51 @@
+package dao;
+
+// Summary of a StudentImporter run
+public class ImportReport {
+    private final long rowsRead;
+    private final long rowsRejected;
+    private final long rowsLoaded;
+    private final long rowsSkipped;
+    private final long elapsedMillis;
+
+    public ImportReport(long rowsRead, long rowsRejected, long rowsLoaded, long rowsSkipped, long elapsedMillis) {
+        this.rowsRead = rowsRead;
+        this.rowsRejected = rowsRejected;
+        this.rowsLoaded = rowsLoaded;
+        this.rowsSkipped = rowsSkipped;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    // Data lines read from the input, excluding a CSV header and blank lines
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    // Rows that failed parsing or StudentValidator checks and never reached the database
+    public long getRowsRejected() {
+        return rowsRejected;
+    }
+
+    public long getRowsLoaded() {
+        return rowsLoaded;
+    }
+
+    // Valid rows the server skipped, i.e. emails that were already registered
+    public long getRowsSkipped() {
+        return rowsSkipped;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public double getRowsPerSecond() {
+        return elapsedMillis == 0 ? rowsRead : rowsRead * 1000.0 / elapsedMillis;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ImportReport{read=%d, rejected=%d, loaded=%d, skipped=%d, elapsed=%dms, rate=%.0f rows/s}",
+                rowsRead, rowsRejected, rowsLoaded, rowsSkipped, elapsedMillis, getRowsPerSecond());
+    }
+}
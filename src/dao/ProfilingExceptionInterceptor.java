@@ -0,0 +1,27 @@
+package dao;
+
+import com.mysql.cj.exceptions.ExceptionInterceptor;
+import com.mysql.cj.log.Log;
+
+import java.util.Properties;
+
+// Connector/J exception interceptor that records the failed statements ProfilingQueryInterceptor.postProcess
+// never sees, such as a connection lost while the result is read. Registered next to it by DatabaseConfig.
+public class ProfilingExceptionInterceptor implements ExceptionInterceptor {
+
+    @Override
+    public ExceptionInterceptor init(Properties props, Log log) {
+        return this;
+    }
+
+    // The exception is passed on unchanged: the driver's chain hands each interceptor's result to the next
+    @Override
+    public Exception interceptException(Exception sqlEx) {
+        ProfilingQueryInterceptor.statementFailed();
+        return sqlEx;
+    }
+
+    @Override
+    public void destroy() {
+    }
+}
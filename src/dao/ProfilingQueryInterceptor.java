@@ -0,0 +1,142 @@
+package dao;
+
+import com.mysql.cj.MysqlConnection;
+import com.mysql.cj.Query;
+import com.mysql.cj.interceptors.QueryInterceptor;
+import com.mysql.cj.log.Log;
+import com.mysql.cj.protocol.Message;
+import com.mysql.cj.protocol.Resultset;
+import com.mysql.cj.protocol.ResultsetRows;
+import com.mysql.cj.protocol.ServerSession;
+import com.mysql.cj.protocol.a.result.ByteArrayRow;
+import com.mysql.cj.protocol.a.result.ResultsetRowsStatic;
+import com.mysql.cj.result.Row;
+import metrics.QueryProfiler;
+
+import java.util.Properties;
+import java.util.function.Supplier;
+
+// Connector/J interceptor feeding metrics.QueryProfiler with the time, rows and bytes of every statement.
+// Enabled through the queryInterceptors connection property built by DatabaseConfig. A statement the server
+// rejects reaches postProcess without a result set and is recorded as failed; one that fails without
+// reaching postProcess (e.g. the connection drops while its result is read) is recorded by
+// ProfilingExceptionInterceptor, a separate instance that finds the statement through the per-thread
+// marker below. Statements run on the calling thread, one at a time.
+public class ProfilingQueryInterceptor implements QueryInterceptor {
+    // Connection property carrying the slow query threshold from config.properties
+    public static final String SLOW_QUERY_MILLIS_PROPERTY = "profiling.slowQueryMillis";
+
+    private static final class Execution {
+        final Supplier<String> sql;
+        final long startedNanos;
+        long bytesSent;
+
+        Execution(Supplier<String> sql, long startedNanos) {
+            this.sql = sql;
+            this.startedNanos = startedNanos;
+        }
+    }
+
+    // The statement this thread is running; unset between statements
+    private static final ThreadLocal<Execution> CURRENT = new ThreadLocal<>();
+
+    private final QueryProfiler profiler = QueryProfiler.get();
+
+    @Override
+    public QueryInterceptor init(MysqlConnection conn, Properties props, Log log) {
+        String threshold = props.getProperty(SLOW_QUERY_MILLIS_PROPERTY);
+        if (threshold != null) {
+            profiler.setSlowQueryMillis(Long.parseLong(threshold.trim()));
+        }
+        return this;
+    }
+
+    @Override
+    public <T extends Resultset> T preProcess(Supplier<String> sql, Query interceptedQuery) {
+        // Replaces any marker left by a statement that failed without passing the exception interceptor,
+        // so its time and bytes are not charged to this one
+        CURRENT.set(new Execution(sql, System.nanoTime()));
+        return null;
+    }
+
+    // Packet-level hook, called between the statement-level pre and post hooks for the query itself
+    @Override
+    public <M extends Message> M preProcess(M queryPacket) {
+        Execution execution = CURRENT.get();
+        if (execution != null) {
+            execution.bytesSent += queryPacket.getPosition();
+        }
+        return null;
+    }
+
+    @Override
+    public <T extends Resultset> T postProcess(Supplier<String> sql, Query interceptedQuery, T originalResultSet,
+                                               ServerSession serverSession) {
+        Execution execution = CURRENT.get();
+        if (execution == null) {
+            return null;
+        }
+        CURRENT.remove();
+        long elapsed = System.nanoTime() - execution.startedNanos;
+        if (originalResultSet == null) {
+            profiler.recordFailure(sql.get(), elapsed, execution.bytesSent);
+            return null;
+        }
+
+        long rows = 0;
+        long bytesReceived = 0;
+        if (originalResultSet.hasRows()) {
+            // Streamed and cursor results are read after this hook, so only buffered ones are counted
+            ResultsetRows resultRows = originalResultSet.getRows();
+            if (resultRows instanceof ResultsetRowsStatic) {
+                int columns = originalResultSet.getColumnDefinition().getFields().length;
+                rows = resultRows.size();
+                for (int i = 0; i < rows; i++) {
+                    bytesReceived += payloadBytes(resultRows.get(i), columns);
+                }
+            }
+        } else {
+            rows = Math.max(0, originalResultSet.getUpdateCount());
+        }
+
+        profiler.record(sql.get(), elapsed, rows, execution.bytesSent, bytesReceived);
+        return null;
+    }
+
+    // Called by ProfilingExceptionInterceptor; a no-op when the exception was not raised by a statement
+    // or postProcess has already recorded it
+    static void statementFailed() {
+        Execution execution = CURRENT.get();
+        if (execution == null) {
+            return;
+        }
+        CURRENT.remove();
+        QueryProfiler.get().recordFailure(execution.sql.get(), System.nanoTime() - execution.startedNanos,
+                execution.bytesSent);
+    }
+
+    // Column value bytes as received from the server, without protocol framing. Buffer-backed rows
+    // (used for BLOB/TEXT columns) would copy every value to answer, so they are not counted.
+    private static long payloadBytes(Row row, int columns) {
+        if (!(row instanceof ByteArrayRow)) {
+            return 0;
+        }
+        long bytes = 0;
+        for (int c = 0; c < columns; c++) {
+            byte[] value = row.getBytes(c);
+            if (value != null) {
+                bytes += value.length;
+            }
+        }
+        return bytes;
+    }
+
+    @Override
+    public boolean executeTopLevelOnly() {
+        return true;
+    }
+
+    @Override
+    public void destroy() {
+    }
+}
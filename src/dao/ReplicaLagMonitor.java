@@ -0,0 +1,200 @@
+package dao;
+
+import com.mysql.cj.jdbc.ha.ReplicationConnectionGroup;
+import com.mysql.cj.jdbc.ha.ReplicationConnectionGroupManager;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLSyntaxErrorException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+
+// Polls how far each replica in db.replicas lags behind the source and takes replicas that fall more than
+// db.replica.maxLagSeconds behind (or stop replicating, or cannot be reached) out of the pool's replication
+// connection group, so read-only connections stop using them. They are put back once they catch up.
+public class ReplicaLagMonitor implements ReplicaLagMonitorMBean, AutoCloseable {
+    private static final int CHECK_TIMEOUT_MILLIS = 5_000;
+    // Lag reported for replicas that are unreachable or not replicating
+    private static final long UNKNOWN_LAG = -1;
+
+    private final DatabaseConfig config;
+    private final String group;
+    private final Properties connectionProps;
+    private final ScheduledExecutorService scheduler;
+    // One direct (non-replication) connection per replica, reopened after a failure
+    private final Map<String, Connection> connections = new ConcurrentHashMap<>();
+    private final Map<String, Long> lagSeconds = new ConcurrentHashMap<>();
+
+    public ReplicaLagMonitor(DatabaseConfig config) {
+        this.config = config;
+        this.group = config.getReplicationGroup();
+
+        this.connectionProps = config.toConnectionProperties();
+        // Lag checks are neither profiled nor part of a replication group
+        connectionProps.remove("queryInterceptors");
+        connectionProps.remove("exceptionInterceptors");
+        connectionProps.remove("replicationConnectionGroup");
+        connectionProps.remove("ha.enableJMX");
+        connectionProps.setProperty("connectTimeout", Integer.toString(CHECK_TIMEOUT_MILLIS));
+        connectionProps.setProperty("socketTimeout", Integer.toString(CHECK_TIMEOUT_MILLIS));
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "replica-lag-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = config.getReplicaLagCheckSeconds();
+        scheduler.scheduleWithFixedDelay(this::checkAll, interval, interval, TimeUnit.SECONDS);
+    }
+
+    // Whether this monitor already watches the replicas of cfg with the same settings
+    boolean isMonitoring(DatabaseConfig cfg) {
+        return config.equals(cfg) && config.getReplicaMaxLagSeconds() == cfg.getReplicaMaxLagSeconds()
+                && config.getReplicaLagCheckSeconds() == cfg.getReplicaLagCheckSeconds();
+    }
+
+    private void checkAll() {
+        // The group only exists once the pool has opened its first connection
+        ReplicationConnectionGroup connectionGroup = ReplicationConnectionGroupManager.getConnectionGroup(group);
+        for (String replica : config.getReplicas()) {
+            long lag = measureLag(replica);
+            lagSeconds.put(replica, lag);
+            if (connectionGroup == null) {
+                continue;
+            }
+
+            // Membership is read from the group, so a monitor restarted after a config reload picks up where
+            // the previous one left off
+            boolean healthy = lag != UNKNOWN_LAG && lag <= config.getReplicaMaxLagSeconds();
+            boolean inRotation = connectionGroup.getReplicaHosts().contains(replica);
+            if (healthy == inRotation) {
+                continue;
+            }
+
+            // The group walks its open connections, so none may be opened or closed meanwhile (see ConnectionPool)
+            Lock groupLock = ConnectionPool.REPLICATION_GROUPS.writeLock();
+            groupLock.lock();
+            try {
+                if (healthy) {
+                    ReplicationConnectionGroupManager.addReplicaHost(group, replica);
+                    System.out.println("Replica " + replica + " back in rotation, lag: " + describe(lag));
+                } else {
+                    // Not gently: that holds each connection's lock for up to the 15 s grace period, stalling the
+                    // pool. A statement still running on the replica finishes first anyway, as removal needs the
+                    // same lock, and until then the pool cannot open or close connections either
+                    ReplicationConnectionGroupManager.removeReplicaHost(group, replica, false);
+                    System.err.println("Replica " + replica + " taken out of rotation, lag: " + describe(lag));
+                }
+            } catch (SQLException e) {
+                System.err.println("Could not update replica " + replica + " in group " + group + ": " + e.getMessage());
+            } finally {
+                groupLock.unlock();
+            }
+        }
+    }
+
+    // Seconds behind the source, or UNKNOWN_LAG when the replica is down or its replication is stopped
+    private long measureLag(String replica) {
+        try {
+            Connection conn = connections.get(replica);
+            if (conn == null || conn.isClosed()) {
+                conn = DriverManager.getConnection("jdbc:mysql://" + replica + "/", connectionProps);
+                connections.put(replica, conn);
+            }
+            try {
+                return readLag(conn, "SHOW REPLICA STATUS", "Seconds_Behind_Source");
+            } catch (SQLSyntaxErrorException e) {
+                // Servers before 8.0.22 only know the old statement and column names
+                return readLag(conn, "SHOW SLAVE STATUS", "Seconds_Behind_Master");
+            }
+        } catch (SQLException e) {
+            closeConnection(replica);
+            return UNKNOWN_LAG;
+        }
+    }
+
+    // The largest lag over all replication channels
+    private static long readLag(Connection conn, String sql, String column) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            long lag = 0;
+            while (rs.next()) {
+                long channelLag = rs.getLong(column);
+                if (rs.wasNull()) {
+                    return UNKNOWN_LAG;
+                }
+                lag = Math.max(lag, channelLag);
+            }
+            // No channels at all: not a replica (e.g. a group replication member), so always current
+            return lag;
+        }
+    }
+
+    private void closeConnection(String replica) {
+        Connection conn = connections.remove(replica);
+        if (conn != null) {
+            try {
+                conn.close();
+            } catch (SQLException ignored) {
+                // Already broken
+            }
+        }
+    }
+
+    private static String describe(long lag) {
+        return lag == UNKNOWN_LAG ? "unknown (unreachable or not replicating)" : lag + " s";
+    }
+
+    @Override
+    public String[] getReplicas() {
+        return config.getReplicas().toArray(new String[0]);
+    }
+
+    @Override
+    public String[] getExcludedReplicas() {
+        return config.getReplicas().stream().filter(replica -> !isInRotation(replica)).toArray(String[]::new);
+    }
+
+    private boolean isInRotation(String replica) {
+        ReplicationConnectionGroup connectionGroup = ReplicationConnectionGroupManager.getConnectionGroup(group);
+        return connectionGroup == null || connectionGroup.getReplicaHosts().contains(replica);
+    }
+
+    @Override
+    public long getMaxLagSeconds() {
+        return config.getReplicaMaxLagSeconds();
+    }
+
+    @Override
+    public long getLagSeconds(String replica) {
+        Long lag = lagSeconds.get(replica);
+        return lag == null ? UNKNOWN_LAG : lag;
+    }
+
+    @Override
+    public String getLagReport() {
+        StringBuilder report = new StringBuilder();
+        for (Map.Entry<String, Long> entry : new TreeMap<>(lagSeconds).entrySet()) {
+            report.append(entry.getKey()).append(": ").append(describe(entry.getValue()))
+                    .append(isInRotation(entry.getKey()) ? "" : " (out of rotation)").append('\n');
+        }
+        return report.toString();
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        for (String replica : connections.keySet()) {
+            closeConnection(replica);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package dao;
+
+// JMX view of ReplicaLagMonitor, registered as studentmanagement:type=ReplicaLagMonitor
+public interface ReplicaLagMonitorMBean {
+    String[] getReplicas();
+
+    String[] getExcludedReplicas();
+
+    long getMaxLagSeconds();
+
+    // -1 when the replica is unreachable, not replicating or not checked yet
+    long getLagSeconds(String replica);
+
+    String getLagReport();
+}
@@ -0,0 +1,346 @@
+package dao;
+
+import model.MajorDictionary;
+import model.MajorStatistics;
+import model.Student;
+import model.StudentBatch;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+// Read-only columnar snapshot of the columns reports aggregate over: major code, GPA and enrollment day.
+// Loaded by StudentDAO.getAnalyticsSnapshot() with a streaming scan; no Student objects are created.
+// Aggregations split the columns into chunks and reduce them in parallel on the common fork/join pool,
+// each chunk running a tight loop over primitive arrays.
+public final class StudentAnalytics {
+    // Rows per leaf task; large enough that fork/join overhead is noise next to the loop
+    private static final int CHUNK_SIZE = 1 << 16;
+    // GPA range accepted by StudentValidator.validateGPA
+    private static final double MIN_GPA = 0.0;
+    private static final double MAX_GPA = 4.0;
+
+    private final MajorDictionary majors;
+    private final int size;
+    private final int[] majorCodes;
+    private final double[] gpas;
+    private final int[] enrollmentDays;
+
+    StudentAnalytics(MajorDictionary majors, int size, int[] majorCodes, double[] gpas, int[] enrollmentDays) {
+        this.majors = majors;
+        this.size = size;
+        this.majorCodes = majorCodes;
+        this.gpas = gpas;
+        this.enrollmentDays = enrollmentDays;
+    }
+
+    // Snapshot of rows already held in memory, e.g. from StudentDAO.getAllStudentsBatch()
+    public static StudentAnalytics of(StudentBatch batch) {
+        int size = batch.size();
+        int[] majorCodes = new int[size];
+        double[] gpas = new double[size];
+        int[] enrollmentDays = new int[size];
+        for (int row = 0; row < size; row++) {
+            majorCodes[row] = batch.getMajorCode(row);
+            gpas[row] = batch.getGpa(row);
+            enrollmentDays[row] = batch.getEnrollmentEpochDay(row);
+        }
+        return new StudentAnalytics(batch.getMajorDictionary(), size, majorCodes, gpas, enrollmentDays);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public double averageGpa() {
+        if (size == 0) {
+            return 0.0;
+        }
+        double sum = reduce(new Chunked<Double>() {
+            @Override
+            Double aggregate(int from, int to) {
+                double total = 0;
+                for (int i = from; i < to; i++) {
+                    total += gpas[i];
+                }
+                return total;
+            }
+
+            @Override
+            Double combine(Double left, Double right) {
+                return left + right;
+            }
+        });
+        return sum / size;
+    }
+
+    // Count, average, min, max, median and 90th percentile GPA per major, majors in alphabetical order.
+    // Same nearest-rank percentiles as the SQL in StudentDAO.getMajorStatistics(). Like GROUP BY on the
+    // column's case-insensitive collation, majors differing only by case are one group, named by the
+    // first spelling in the dictionary.
+    public MajorStatistics majorStatistics() {
+        List<String> groupNames = new ArrayList<>();
+        int[] groupOf = new int[majors.size()];
+        Map<String, Integer> groupByKey = new HashMap<>();
+        for (int code = 0; code < groupOf.length; code++) {
+            String name = majors.decode(code);
+            Integer group = groupByKey.putIfAbsent(name.toLowerCase(Locale.ROOT), groupNames.size());
+            if (group == null) {
+                group = groupNames.size();
+                groupNames.add(name);
+            }
+            groupOf[code] = group;
+        }
+        int groups = groupNames.size();
+
+        MajorTotals totals = reduce(new Chunked<MajorTotals>() {
+            @Override
+            MajorTotals aggregate(int from, int to) {
+                MajorTotals chunk = new MajorTotals(groups);
+                for (int i = from; i < to; i++) {
+                    chunk.add(groupOf[majorCodes[i]], gpas[i]);
+                }
+                return chunk;
+            }
+
+            @Override
+            MajorTotals combine(MajorTotals left, MajorTotals right) {
+                return left.merge(right);
+            }
+        });
+
+        // Group each major's GPAs into its own slice, then sort the slices in parallel for the percentiles
+        double[][] gpasByGroup = new double[groups][];
+        int[] filled = new int[groups];
+        for (int group = 0; group < groups; group++) {
+            gpasByGroup[group] = new double[(int) totals.counts[group]];
+        }
+        for (int i = 0; i < size; i++) {
+            int group = groupOf[majorCodes[i]];
+            gpasByGroup[group][filled[group]++] = gpas[i];
+        }
+        List<RecursiveAction> sorts = new ArrayList<>(groups);
+        for (double[] slice : gpasByGroup) {
+            sorts.add(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    Arrays.sort(slice);
+                }
+            });
+        }
+        ForkJoinPool.commonPool().invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                invokeAll(sorts);
+            }
+        });
+
+        List<Integer> present = new ArrayList<>();
+        for (int group = 0; group < groups; group++) {
+            if (totals.counts[group] > 0) {
+                present.add(group);
+            }
+        }
+        present.sort((x, y) -> String.CASE_INSENSITIVE_ORDER.compare(groupNames.get(x), groupNames.get(y)));
+
+        int n = present.size();
+        String[] names = new String[n];
+        long[] counts = new long[n];
+        double[] averages = new double[n], minimums = new double[n], maximums = new double[n],
+                medians = new double[n], p90s = new double[n];
+        for (int i = 0; i < n; i++) {
+            int group = present.get(i);
+            double[] sorted = gpasByGroup[group];
+            names[i] = groupNames.get(group);
+            counts[i] = totals.counts[group];
+            averages[i] = totals.sums[group] / totals.counts[group];
+            minimums[i] = totals.minimums[group];
+            maximums[i] = totals.maximums[group];
+            medians[i] = nearestRank(sorted, 0.5);
+            p90s[i] = nearestRank(sorted, 0.9);
+        }
+        return new MajorStatistics(names, counts, averages, minimums, maximums, medians, p90s);
+    }
+
+    // Student counts in `buckets` equal-width GPA ranges from 0.0 to 4.0; 4.0 itself lands in the last bucket
+    public long[] gpaHistogram(int buckets) {
+        if (buckets <= 0) {
+            throw new IllegalArgumentException("Bucket count must be positive. Provided: " + buckets);
+        }
+        double scale = buckets / (MAX_GPA - MIN_GPA);
+        return reduce(new Chunked<long[]>() {
+            @Override
+            long[] aggregate(int from, int to) {
+                long[] counts = new long[buckets];
+                for (int i = from; i < to; i++) {
+                    int bucket = (int) ((gpas[i] - MIN_GPA) * scale);
+                    counts[Math.max(0, Math.min(buckets - 1, bucket))]++;
+                }
+                return counts;
+            }
+
+            @Override
+            long[] combine(long[] left, long[] right) {
+                for (int i = 0; i < buckets; i++) {
+                    left[i] += right[i];
+                }
+                return left;
+            }
+        });
+    }
+
+    // Enrollments per calendar month, oldest first; months without enrollments are left out
+    public SortedMap<YearMonth, Long> enrollmentsByMonth() {
+        SortedMap<YearMonth, Long> result = new TreeMap<>();
+        int[] range = reduce(new Chunked<int[]>() {
+            @Override
+            int[] aggregate(int from, int to) {
+                int min = Integer.MAX_VALUE, max = Integer.MIN_VALUE;
+                for (int i = from; i < to; i++) {
+                    int day = enrollmentDays[i];
+                    if (day != Student.NO_DATE) {
+                        min = Math.min(min, day);
+                        max = Math.max(max, day);
+                    }
+                }
+                return new int[]{min, max};
+            }
+
+            @Override
+            int[] combine(int[] left, int[] right) {
+                return new int[]{Math.min(left[0], right[0]), Math.max(left[1], right[1])};
+            }
+        });
+        if (size == 0 || range[0] > range[1]) {
+            return result;
+        }
+
+        // Day -> month index lookup over the spanned range keeps date arithmetic out of the inner loop
+        int firstDay = range[0];
+        YearMonth firstMonth = YearMonth.from(LocalDate.ofEpochDay(firstDay));
+        YearMonth lastMonth = YearMonth.from(LocalDate.ofEpochDay(range[1]));
+        int months = (int) (lastMonth.getYear() * 12L + lastMonth.getMonthValue()
+                - firstMonth.getYear() * 12L - firstMonth.getMonthValue()) + 1;
+        int[] monthOfDay = new int[range[1] - firstDay + 1];
+        YearMonth month = firstMonth;
+        for (int m = 0; m < months; m++, month = month.plusMonths(1)) {
+            int start = (int) Math.max(firstDay, month.atDay(1).toEpochDay());
+            int end = (int) Math.min(range[1], month.atEndOfMonth().toEpochDay());
+            Arrays.fill(monthOfDay, start - firstDay, end - firstDay + 1, m);
+        }
+
+        long[] counts = reduce(new Chunked<long[]>() {
+            @Override
+            long[] aggregate(int from, int to) {
+                long[] chunk = new long[months];
+                for (int i = from; i < to; i++) {
+                    int day = enrollmentDays[i];
+                    if (day != Student.NO_DATE) {
+                        chunk[monthOfDay[day - firstDay]]++;
+                    }
+                }
+                return chunk;
+            }
+
+            @Override
+            long[] combine(long[] left, long[] right) {
+                for (int i = 0; i < months; i++) {
+                    left[i] += right[i];
+                }
+                return left;
+            }
+        });
+
+        month = firstMonth;
+        for (int m = 0; m < months; m++, month = month.plusMonths(1)) {
+            if (counts[m] > 0) {
+                result.put(month, counts[m]);
+            }
+        }
+        return result;
+    }
+
+    private <A> A reduce(Chunked<A> chunked) {
+        return ForkJoinPool.commonPool().invoke(new ChunkTask<>(chunked, 0, size));
+    }
+
+    private static double nearestRank(double[] sorted, double percentile) {
+        int rank = (int) Math.ceil(percentile * sorted.length);
+        return sorted[Math.max(rank, 1) - 1];
+    }
+
+    // One aggregation: a loop over a row range plus a merge of two partial results
+    private abstract static class Chunked<A> {
+        abstract A aggregate(int from, int to);
+
+        abstract A combine(A left, A right);
+    }
+
+    private static final class ChunkTask<A> extends RecursiveTask<A> {
+        private final Chunked<A> chunked;
+        private final int from;
+        private final int to;
+
+        ChunkTask(Chunked<A> chunked, int from, int to) {
+            this.chunked = chunked;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected A compute() {
+            if (to - from <= CHUNK_SIZE) {
+                return chunked.aggregate(from, to);
+            }
+            int mid = (from + to) >>> 1;
+            ChunkTask<A> left = new ChunkTask<>(chunked, from, mid);
+            left.fork();
+            A right = new ChunkTask<>(chunked, mid, to).compute();
+            return chunked.combine(left.join(), right);
+        }
+    }
+
+    // Per-major partial sums indexed by case-insensitive major group
+    private static final class MajorTotals {
+        final long[] counts;
+        final double[] sums;
+        final double[] minimums;
+        final double[] maximums;
+
+        MajorTotals(int groups) {
+            counts = new long[groups];
+            sums = new double[groups];
+            minimums = new double[groups];
+            maximums = new double[groups];
+            Arrays.fill(minimums, Double.POSITIVE_INFINITY);
+            Arrays.fill(maximums, Double.NEGATIVE_INFINITY);
+        }
+
+        void add(int group, double gpa) {
+            counts[group]++;
+            sums[group] += gpa;
+            minimums[group] = Math.min(minimums[group], gpa);
+            maximums[group] = Math.max(maximums[group], gpa);
+        }
+
+        MajorTotals merge(MajorTotals other) {
+            for (int group = 0; group < counts.length; group++) {
+                counts[group] += other.counts[group];
+                sums[group] += other.sums[group];
+                minimums[group] = Math.min(minimums[group], other.minimums[group]);
+                maximums[group] = Math.max(maximums[group], other.maximums[group]);
+            }
+            return this;
+        }
+    }
+}
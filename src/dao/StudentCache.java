@@ -0,0 +1,236 @@
+package dao;
+
+import model.Student;
+
+import java.util.ArrayDeque;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Bounded, TTL-expiring student cache keyed by id, with a secondary email -> id index.
+// Lookups are plain ConcurrentHashMap reads, so concurrent readers never block each other;
+// puts are serialised, and capacity is enforced by evicting the oldest written entries (FIFO).
+// A put never replaces a cached row with an older version of it. Read-throughs take a loadStamp()
+// before going to the database and hand it to putLoaded, which drops the row if the id was written
+// or invalidated in the meantime: invalidate leaves a tombstone for that, so a row loaded before a
+// concurrent delete is not served after it.
+public class StudentCache {
+
+    private static final class Entry {
+        final int id;
+        // null for a tombstone
+        final Student student;
+        final long expiresAtNanos;
+        final long generation;
+
+        Entry(int id, Student student, long expiresAtNanos, long generation) {
+            this.id = id;
+            this.student = student;
+            this.expiresAtNanos = expiresAtNanos;
+            this.generation = generation;
+        }
+    }
+
+    private final int maxSize;
+    private final long ttlNanos;
+
+    private final ConcurrentHashMap<Integer, Entry> byId = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Integer> idByEmail = new ConcurrentHashMap<>();
+    // Entries in write order, guarded by its own monitor. A slot is live only while byId still maps its id
+    // to that very entry; slots of replaced, invalidated or expired entries are skipped and compacted away.
+    private final ArrayDeque<Entry> writeOrder = new ArrayDeque<>();
+    // Bumped by every put and invalidate under the writeOrder monitor
+    private volatile long generation;
+    // Loads stamped before this generation are dropped: a tombstone newer than their stamp may have been evicted
+    private long loadFloor;
+    private volatile int tombstones;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    public StudentCache(int maxSize, long ttl, TimeUnit unit) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Cache size must be positive. Provided: " + maxSize);
+        }
+        this.maxSize = maxSize;
+        this.ttlNanos = unit.toNanos(ttl);
+    }
+
+    // Cached copy of the student, or null on a miss or an expired entry
+    public Student get(int id) {
+        Entry entry = byId.get(id);
+        if (entry == null || entry.student == null) {
+            misses.increment();
+            return null;
+        }
+        if (System.nanoTime() - entry.expiresAtNanos > 0) {
+            if (byId.remove(id, entry)) {
+                expirations.increment();
+                idByEmail.remove(emailKey(entry.student.getEmail()), id);
+            }
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return copy(entry.student);
+    }
+
+    // Id registered for the email, or null if it is not cached
+    public Integer getIdByEmail(String email) {
+        return email == null ? null : idByEmail.get(emailKey(email));
+    }
+
+    // For rows the caller just wrote: cached unless a newer version is already cached
+    public void put(Student student) {
+        Student cached = copy(student);
+        synchronized (writeOrder) {
+            store(cached, byId.get(cached.getId()));
+        }
+    }
+
+    // Taken by a read-through before it queries the database
+    public long loadStamp() {
+        return generation;
+    }
+
+    // For rows a read-through loaded: dropped if the id was put or invalidated after the stamp was taken
+    public void putLoaded(Student student, long stamp) {
+        Student cached = copy(student);
+        synchronized (writeOrder) {
+            Entry previous = byId.get(cached.getId());
+            if (stamp < loadFloor || (previous != null && previous.generation > stamp)) {
+                return;
+            }
+            store(cached, previous);
+        }
+    }
+
+    // Called with the writeOrder monitor held
+    private void store(Student cached, Entry previous) {
+        Student previousStudent = previous == null ? null : previous.student;
+        // A read-through that loaded the row before a concurrent update must not undo that update
+        if (previousStudent != null && previousStudent.getVersion() > cached.getVersion()) {
+            return;
+        }
+        Entry entry = new Entry(cached.getId(), cached, System.nanoTime() + ttlNanos, ++generation);
+        byId.put(cached.getId(), entry);
+        if (previous != null && previousStudent == null) {
+            tombstones--;
+        }
+
+        if (previousStudent != null && !emailKey(previousStudent.getEmail()).equals(emailKey(cached.getEmail()))) {
+            idByEmail.remove(emailKey(previousStudent.getEmail()), cached.getId());
+        }
+        idByEmail.put(emailKey(cached.getEmail()), cached.getId());
+
+        writeOrder.addLast(entry);
+        evictIfNeeded();
+    }
+
+    // Leaves a tombstone so a read-through that started before this call cannot cache the row again
+    public void invalidate(int id) {
+        synchronized (writeOrder) {
+            Entry tombstone = new Entry(id, null, 0, ++generation);
+            Entry removed = byId.put(id, tombstone);
+            if (removed == null || removed.student != null) {
+                tombstones++;
+            }
+            if (removed != null && removed.student != null) {
+                idByEmail.remove(emailKey(removed.student.getEmail()), id);
+            }
+            writeOrder.addLast(tombstone);
+            evictIfNeeded();
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (writeOrder) {
+            byId.clear();
+            idByEmail.clear();
+            writeOrder.clear();
+            tombstones = 0;
+            loadFloor = ++generation;
+        }
+    }
+
+    private boolean isLive(Entry entry) {
+        return byId.get(entry.id) == entry;
+    }
+
+    // Called with the writeOrder monitor held
+    private void evictIfNeeded() {
+        while (byId.size() > maxSize) {
+            Entry victim = writeOrder.pollFirst();
+            if (victim == null) {
+                return;
+            }
+            if (!byId.remove(victim.id, victim)) {
+                continue;
+            }
+            if (victim.student == null) {
+                // Without the tombstone a load older than it could no longer be told apart
+                tombstones--;
+                loadFloor = Math.max(loadFloor, victim.generation);
+            } else {
+                evictions.increment();
+                idByEmail.remove(emailKey(victim.student.getEmail()), victim.id);
+            }
+        }
+
+        // Dropping dead slots once they outnumber the cache, in one order-preserving pass, so the
+        // queue stays proportional to the cache at amortised constant cost per put
+        if (writeOrder.size() > 2 * maxSize) {
+            writeOrder.removeIf(entry -> !isLive(entry));
+        }
+    }
+
+    // Callers get their own copy so mutating a returned Student never changes the cache
+    private static Student copy(Student student) {
+        Student copy = new Student(student.getId(), student.getName(), student.getEmail(),
+                student.getMajor(), student.getGpa(), student.getEnrollmentDate());
+        copy.setVersion(student.getVersion());
+        return copy;
+    }
+
+    // MySQL compares emails case-insensitively, so the index does too
+    private static String emailKey(String email) {
+        return email == null ? "" : email.toLowerCase(Locale.ROOT);
+    }
+
+    // Cached rows, not counting tombstones
+    public int size() {
+        return byId.size() - tombstones;
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public long getExpirationCount() {
+        return expirations.sum();
+    }
+
+    public double getHitRate() {
+        long h = hits.sum();
+        long total = h + misses.sum();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("StudentCache{size=%d, max=%d, hits=%d, misses=%d, hitRate=%.1f%%, evictions=%d, expirations=%d}",
+                size(), maxSize, getHitCount(), getMissCount(), getHitRate() * 100, getEvictionCount(),
+                getExpirationCount());
+    }
+}
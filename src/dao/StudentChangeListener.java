@@ -0,0 +1,12 @@
+package dao;
+
+import model.Student;
+
+// Notified by StudentDAO after a write has been committed
+public interface StudentChangeListener {
+    void onStudentAdded(Student student);
+
+    void onStudentUpdated(Student student);
+
+    void onStudentDeleted(int id);
+}
@@ -0,0 +1,335 @@
+package dao;
+
+import model.Student;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+// Typed, composable student filter that renders to a parameterised SQL WHERE clause
+// and can still be evaluated in memory like any other StudentFilter.
+// String comparisons ignore case in both forms, mirroring MySQL's default collation.
+public abstract class StudentCriteria implements StudentDAO.StudentFilter {
+
+    public static final StringField NAME = new StringField("name", Student::getName);
+    public static final StringField EMAIL = new StringField("email", Student::getEmail);
+    public static final StringField MAJOR = new StringField("major", Student::getMajor);
+    public static final ComparableField<Double> GPA = new ComparableField<>("gpa", Student::getGpa);
+    public static final ComparableField<LocalDate> ENROLLMENT_DATE =
+            new ComparableField<>("enrollment_date", Student::getEnrollmentDate);
+
+    // Appending this criterion as SQL; every value becomes a '?' placeholder added to params
+    abstract void appendSql(StringBuilder sql, List<Object> params);
+
+    // Adds the majors this criterion selects by equality or IN, for the per-major query counters;
+    // negated parts select everything but their majors and add nothing
+    void collectMajors(List<String> majors) {
+    }
+
+    public String toSql(List<Object> params) {
+        StringBuilder sql = new StringBuilder();
+        appendSql(sql, params);
+        return sql.toString();
+    }
+
+    public StudentCriteria and(StudentCriteria other) {
+        return allOf(this, other);
+    }
+
+    public StudentCriteria or(StudentCriteria other) {
+        return anyOf(this, other);
+    }
+
+    public StudentCriteria negate() {
+        return not(this);
+    }
+
+    public static StudentCriteria allOf(StudentCriteria... criteria) {
+        return new Junction(" AND ", true, criteria);
+    }
+
+    public static StudentCriteria anyOf(StudentCriteria... criteria) {
+        return new Junction(" OR ", false, criteria);
+    }
+
+    public static StudentCriteria not(StudentCriteria criteria) {
+        return new Negation(criteria);
+    }
+
+    @Override
+    public String toString() {
+        List<Object> params = new ArrayList<>();
+        return toSql(params) + " " + params;
+    }
+
+    public static class ComparableField<T extends Comparable<? super T>> {
+        final String column;
+        final Function<Student, T> getter;
+
+        ComparableField(String column, Function<Student, T> getter) {
+            this.column = column;
+            this.getter = getter;
+        }
+
+        public StudentCriteria eq(T value) {
+            return new Comparison<>(this, Operator.EQ, value);
+        }
+
+        public StudentCriteria ne(T value) {
+            return new Comparison<>(this, Operator.NE, value);
+        }
+
+        public StudentCriteria lt(T value) {
+            return new Comparison<>(this, Operator.LT, value);
+        }
+
+        public StudentCriteria lte(T value) {
+            return new Comparison<>(this, Operator.LTE, value);
+        }
+
+        public StudentCriteria gt(T value) {
+            return new Comparison<>(this, Operator.GT, value);
+        }
+
+        public StudentCriteria gte(T value) {
+            return new Comparison<>(this, Operator.GTE, value);
+        }
+
+        // Inclusive on both ends, like SQL BETWEEN
+        public StudentCriteria between(T low, T high) {
+            return allOf(gte(low), lte(high));
+        }
+
+        @SafeVarargs
+        public final StudentCriteria in(T... values) {
+            // Copied element by element: handing the generic varargs array on would let it escape
+            List<T> copy = new ArrayList<>(values.length);
+            for (T value : values) {
+                if (value == null) {
+                    throw new IllegalArgumentException("Filter value for " + column + " cannot be null");
+                }
+                copy.add(value);
+            }
+            return new InList<>(this, copy);
+        }
+
+        int compare(T a, T b) {
+            return a.compareTo(b);
+        }
+    }
+
+    public static class StringField extends ComparableField<String> {
+        StringField(String column, Function<Student, String> getter) {
+            super(column, getter);
+        }
+
+        public StudentCriteria startsWith(String prefix) {
+            return new Like(this, escapeLike(prefix) + "%", s -> s.startsWith(prefix.toLowerCase(Locale.ROOT)));
+        }
+
+        public StudentCriteria contains(String text) {
+            return new Like(this, "%" + escapeLike(text) + "%", s -> s.contains(text.toLowerCase(Locale.ROOT)));
+        }
+
+        @Override
+        int compare(String a, String b) {
+            return a.compareToIgnoreCase(b);
+        }
+
+        static String escapeLike(String value) {
+            return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        }
+    }
+
+    private enum Operator {
+        EQ("="), NE("<>"), LT("<"), LTE("<="), GT(">"), GTE(">=");
+
+        final String sql;
+
+        Operator(String sql) {
+            this.sql = sql;
+        }
+
+        boolean matches(int comparison) {
+            switch (this) {
+                case EQ: return comparison == 0;
+                case NE: return comparison != 0;
+                case LT: return comparison < 0;
+                case LTE: return comparison <= 0;
+                case GT: return comparison > 0;
+                default: return comparison >= 0;
+            }
+        }
+    }
+
+    private static final class Comparison<T extends Comparable<? super T>> extends StudentCriteria {
+        private final ComparableField<T> field;
+        private final Operator operator;
+        private final T value;
+
+        Comparison(ComparableField<T> field, Operator operator, T value) {
+            if (value == null) {
+                throw new IllegalArgumentException("Filter value for " + field.column + " cannot be null");
+            }
+            this.field = field;
+            this.operator = operator;
+            this.value = value;
+        }
+
+        @Override
+        void appendSql(StringBuilder sql, List<Object> params) {
+            sql.append(field.column).append(' ').append(operator.sql).append(" ?");
+            params.add(value);
+        }
+
+        @Override
+        void collectMajors(List<String> majors) {
+            if (field == MAJOR && operator == Operator.EQ) {
+                majors.add((String) value);
+            }
+        }
+
+        @Override
+        public boolean test(Student student) {
+            T actual = field.getter.apply(student);
+            return actual != null && operator.matches(field.compare(actual, value));
+        }
+    }
+
+    private static final class InList<T extends Comparable<? super T>> extends StudentCriteria {
+        private final ComparableField<T> field;
+        private final List<T> values;
+
+        InList(ComparableField<T> field, List<T> values) {
+            if (values.isEmpty()) {
+                throw new IllegalArgumentException("IN filter on " + field.column + " needs at least one value");
+            }
+            this.field = field;
+            this.values = values;
+        }
+
+        @Override
+        void appendSql(StringBuilder sql, List<Object> params) {
+            sql.append(field.column).append(" IN (");
+            for (int i = 0; i < values.size(); i++) {
+                sql.append(i == 0 ? "?" : ", ?");
+                params.add(values.get(i));
+            }
+            sql.append(')');
+        }
+
+        @Override
+        void collectMajors(List<String> majors) {
+            if (field == MAJOR) {
+                for (T value : values) {
+                    majors.add((String) value);
+                }
+            }
+        }
+
+        @Override
+        public boolean test(Student student) {
+            T actual = field.getter.apply(student);
+            if (actual == null) {
+                return false;
+            }
+            for (T value : values) {
+                if (field.compare(actual, value) == 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static final class Like extends StudentCriteria {
+        private final StringField field;
+        private final String pattern;
+        private final Predicate<String> matcher;
+
+        Like(StringField field, String pattern, Predicate<String> matcher) {
+            this.field = field;
+            this.pattern = pattern;
+            this.matcher = matcher;
+        }
+
+        @Override
+        void appendSql(StringBuilder sql, List<Object> params) {
+            sql.append(field.column).append(" LIKE ?");
+            params.add(pattern);
+        }
+
+        @Override
+        public boolean test(Student student) {
+            String actual = field.getter.apply(student);
+            return actual != null && matcher.test(actual.toLowerCase(Locale.ROOT));
+        }
+    }
+
+    private static final class Junction extends StudentCriteria {
+        private final String separator;
+        private final boolean all;
+        private final List<StudentCriteria> parts;
+
+        Junction(String separator, boolean all, StudentCriteria... parts) {
+            if (parts.length == 0) {
+                throw new IllegalArgumentException("At least one criterion is required");
+            }
+            this.separator = separator;
+            this.all = all;
+            this.parts = List.of(parts);
+        }
+
+        @Override
+        void appendSql(StringBuilder sql, List<Object> params) {
+            sql.append('(');
+            for (int i = 0; i < parts.size(); i++) {
+                if (i > 0) {
+                    sql.append(separator);
+                }
+                parts.get(i).appendSql(sql, params);
+            }
+            sql.append(')');
+        }
+
+        @Override
+        void collectMajors(List<String> majors) {
+            for (StudentCriteria part : parts) {
+                part.collectMajors(majors);
+            }
+        }
+
+        @Override
+        public boolean test(Student student) {
+            for (StudentCriteria part : parts) {
+                if (part.test(student) != all) {
+                    return !all;
+                }
+            }
+            return all;
+        }
+    }
+
+    private static final class Negation extends StudentCriteria {
+        private final StudentCriteria inner;
+
+        Negation(StudentCriteria inner) {
+            this.inner = inner;
+        }
+
+        @Override
+        void appendSql(StringBuilder sql, List<Object> params) {
+            sql.append("NOT (");
+            inner.appendSql(sql, params);
+            sql.append(')');
+        }
+
+        @Override
+        public boolean test(Student student) {
+            return !inner.test(student);
+        }
+    }
+}
@@ -1,15 +1,29 @@
 package dao;
 
+import model.MajorDictionary;
+import model.MajorStatistics;
 import model.Student;
+import model.StudentBatch;
+import model.StudentPage;
 import exception.*;
+import metrics.StudentMetrics;
 import util.StudentValidator;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
 import java.util.stream.Collectors;
 
 public class StudentDAO {
@@ -20,54 +34,127 @@ public class StudentDAO {
         boolean test(Student student);
     }
 
-    public void addStudent(Student student) throws InvalidGPAException, InvalidEmailException,
+    private final List<StudentChangeListener> changeListeners = new CopyOnWriteArrayList<>();
+    private final StudentMetrics metrics = StudentMetrics.get();
+
+    public void addChangeListener(StudentChangeListener listener) {
+        changeListeners.add(listener);
+    }
+
+    public void removeChangeListener(StudentChangeListener listener) {
+        changeListeners.remove(listener);
+    }
+
+    // Inserts the student and returns it with the generated id stored on it
+    public Student addStudent(Student student) throws InvalidGPAException, InvalidEmailException,
             DuplicateEmailException, SQLException {
         StudentValidator.validateStudent(student);
 
         String sql = "INSERT INTO students (name, email, major, gpa, enrollment_date) VALUES (?, ?, ?, ?, ?)";
+        long started = System.nanoTime();
         try (Connection conn = DatabaseConnection.getConnection();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, student.getName());
-            pstmt.setString(2, student.getEmail());
-            pstmt.setString(3, student.getMajor());
-            pstmt.setDouble(4, student.getGpa());
-            pstmt.setDate(5, java.sql.Date.valueOf(student.getEnrollmentDate()));
+             PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            setStudentParameters(pstmt, student);
             pstmt.executeUpdate();
+            metrics.recordRowsWritten(1);
+            try (ResultSet keys = pstmt.getGeneratedKeys()) {
+                if (keys.next()) {
+                    student.setId(keys.getInt(1));
+                }
+            }
         } catch (SQLException e) {
             if (e.getMessage().contains("Duplicate entry") || e.getErrorCode() == 1062) {
                 throw new DuplicateEmailException(student.getEmail());
             }
             throw e;
+        } finally {
+            metrics.recordCall("addStudent", started);
         }
+
+        for (StudentChangeListener listener : changeListeners) {
+            listener.onStudentAdded(student);
+        }
+        return student;
     }
 
-    public void updateStudent(Student student) throws StudentNotFoundException, InvalidGPAException,
+    // Single round trip: a missing row shows up as zero matched rows. Connector/J reports matched
+    // rather than changed rows by default (useAffectedRows=false), so an unchanged row still counts.
+    // Returns the student carrying the version the database assigned.
+    public Student updateStudent(Student student) throws StudentNotFoundException, InvalidGPAException,
             InvalidEmailException, SQLException {
         StudentValidator.validateStudent(student);
 
-        if (getStudentById(student.getId()) == null) {
-            throw new StudentNotFoundException(student.getId());
+        // LAST_INSERT_ID(expr) hands the new version back in the OK packet, where the driver
+        // exposes it as the generated key, so no SELECT is needed to learn it
+        String sql = "UPDATE students SET name=?, email=?, major=?, gpa=?, enrollment_date=?, "
+                + "version=LAST_INSERT_ID(version+1) WHERE id=?";
+        long started = System.nanoTime();
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            setStudentParameters(pstmt, student);
+            pstmt.setInt(6, student.getId());
+
+            int rowsAffected = pstmt.executeUpdate();
+            if (rowsAffected == 0) {
+                throw new StudentNotFoundException(student.getId());
+            }
+            metrics.recordRowsWritten(1);
+            try (ResultSet keys = pstmt.getGeneratedKeys()) {
+                if (keys.next()) {
+                    student.setVersion(keys.getInt(1));
+                }
+            }
+        } finally {
+            metrics.recordCall("updateStudent", started);
+        }
+
+        for (StudentChangeListener listener : changeListeners) {
+            listener.onStudentUpdated(student);
         }
+        return student;
+    }
 
-        String sql = "UPDATE students SET name=?, email=?, major=?, gpa=?, enrollment_date=? WHERE id=?";
+    // Optimistic concurrency: only writes when the row still has the version the caller read
+    public Student updateStudentIfUnchanged(Student student) throws StudentNotFoundException, StaleStudentException,
+            InvalidGPAException, InvalidEmailException, SQLException {
+        StudentValidator.validateStudent(student);
+
+        String sql = "UPDATE students SET name=?, email=?, major=?, gpa=?, enrollment_date=?, version=version+1 "
+                + "WHERE id=? AND version=?";
+        long started = System.nanoTime();
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, student.getName());
-            pstmt.setString(2, student.getEmail());
-            pstmt.setString(3, student.getMajor());
-            pstmt.setDouble(4, student.getGpa());
-            pstmt.setDate(5, java.sql.Date.valueOf(student.getEnrollmentDate()));
+            setStudentParameters(pstmt, student);
             pstmt.setInt(6, student.getId());
+            pstmt.setInt(7, student.getVersion());
 
-            int rowsAffected = pstmt.executeUpdate();
-            if (rowsAffected == 0) {
+            if (pstmt.executeUpdate() != 1) {
+                // Only the failure path pays for a second query, to tell a deleted row from a stale one
+                try (PreparedStatement check = conn.prepareStatement("SELECT 1 FROM students WHERE id=?")) {
+                    check.setInt(1, student.getId());
+                    try (ResultSet rs = check.executeQuery()) {
+                        if (rs.next()) {
+                            throw new StaleStudentException(student.getId(), student.getVersion());
+                        }
+                    }
+                }
                 throw new StudentNotFoundException(student.getId());
             }
+            metrics.recordRowsWritten(1);
+            student.setVersion(student.getVersion() + 1);
+        } finally {
+            metrics.recordCall("updateStudentIfUnchanged", started);
+        }
+
+        for (StudentChangeListener listener : changeListeners) {
+            listener.onStudentUpdated(student);
         }
+        return student;
     }
 
     public void deleteStudent(int id) throws StudentNotFoundException, SQLException {
         String sql = "DELETE FROM students WHERE id=?";
+        long started = System.nanoTime();
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setInt(1, id);
@@ -76,11 +163,348 @@ public class StudentDAO {
             if (rowsAffected == 0) {
                 throw new StudentNotFoundException(id);
             }
+            metrics.recordRowsWritten(1);
+        } finally {
+            metrics.recordCall("deleteStudent", started);
+        }
+
+        for (StudentChangeListener listener : changeListeners) {
+            listener.onStudentDeleted(id);
         }
     }
 
+    // Rows per JDBC batch; with rewriteBatchedStatements each INSERT chunk goes out as one multi-row statement
+    private static final int BATCH_SIZE = 500;
+
+    @FunctionalInterface
+    private interface RowBinder {
+        void bind(PreparedStatement pstmt, int index) throws SQLException;
+    }
+
+    // What a batch hands back per row: generated ids for inserts, new versions for updates
+    private interface RowKeys {
+        // After the chunk ran as one batch, inside its transaction
+        void readBatch(Connection conn, PreparedStatement pstmt, List<Integer> pending) throws SQLException;
+
+        // After one row ran on its own and changed a row
+        void readRow(PreparedStatement pstmt, int index) throws SQLException;
+    }
+
+    // Inserting many students in chunked batches; successful rows get their generated id set
+    public BatchResult addStudents(Collection<Student> students) throws SQLException {
+        List<Student> rows = new ArrayList<>(students);
+        BatchResult result = new BatchResult(rows.size());
+
+        // Validating up front and rejecting emails repeated within the input itself
+        Set<String> seenEmails = new HashSet<>();
+        for (int i = 0; i < rows.size(); i++) {
+            Student student = rows.get(i);
+            if (validateForBatch(student, i, result)
+                    && !seenEmails.add(student.getEmail().toLowerCase(Locale.ROOT))) {
+                result.set(i, BatchResult.Outcome.DUPLICATE_EMAIL,
+                        new DuplicateEmailException(student.getEmail()).getMessage());
+            }
+        }
+
+        String sql = "INSERT INTO students (name, email, major, gpa, enrollment_date) VALUES (?, ?, ?, ?, ?)";
+        int[] generatedIds = new int[rows.size()];
+
+        long started = System.nanoTime();
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            for (int start = 0; start < rows.size(); start += BATCH_SIZE) {
+                int end = Math.min(start + BATCH_SIZE, rows.size());
+                markExistingEmails(conn, rows, start, end, result);
+                executeBatchChunk(conn, sql, pendingIndexes(result, start, end),
+                        (pstmt, i) -> setStudentParameters(pstmt, rows.get(i)), null, result,
+                        generatedKeys(generatedIds));
+            }
+        } finally {
+            metrics.recordCall("addStudents", started);
+        }
+
+        for (int i = 0; i < rows.size(); i++) {
+            if (result.getOutcome(i) == BatchResult.Outcome.SUCCESS) {
+                rows.get(i).setId(generatedIds[i]);
+                for (StudentChangeListener listener : changeListeners) {
+                    listener.onStudentAdded(rows.get(i));
+                }
+            }
+        }
+        metrics.recordRowsWritten(result.getSuccessCount());
+        return result;
+    }
+
+    public BatchResult updateStudents(Collection<Student> students) throws SQLException {
+        List<Student> rows = new ArrayList<>(students);
+        BatchResult result = new BatchResult(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            validateForBatch(rows.get(i), i, result);
+        }
+
+        // LAST_INSERT_ID(expr) returns the new version when a row is retried on its own, as in updateStudent
+        String sql = "UPDATE students SET name=?, email=?, major=?, gpa=?, enrollment_date=?, "
+                + "version=LAST_INSERT_ID(version+1) WHERE id=?";
+        int[] newVersions = new int[rows.size()];
+        long started = System.nanoTime();
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            for (int start = 0; start < rows.size(); start += BATCH_SIZE) {
+                int end = Math.min(start + BATCH_SIZE, rows.size());
+                executeBatchChunk(conn, sql, pendingIndexes(result, start, end),
+                        (pstmt, i) -> {
+                            setStudentParameters(pstmt, rows.get(i));
+                            pstmt.setInt(6, rows.get(i).getId());
+                        },
+                        i -> new StudentNotFoundException(rows.get(i).getId()).getMessage(), result,
+                        versionKeys(rows, newVersions));
+            }
+        } finally {
+            metrics.recordCall("updateStudents", started);
+        }
+
+        for (int i = 0; i < rows.size(); i++) {
+            if (result.getOutcome(i) == BatchResult.Outcome.SUCCESS) {
+                // The version the database assigned, so caches and later updateStudentIfUnchanged calls see it
+                // even when the caller's copy was stale
+                Student student = rows.get(i);
+                student.setVersion(newVersions[i]);
+                for (StudentChangeListener listener : changeListeners) {
+                    listener.onStudentUpdated(student);
+                }
+            }
+        }
+        metrics.recordRowsWritten(result.getSuccessCount());
+        return result;
+    }
+
+    public BatchResult deleteStudents(int... ids) throws SQLException {
+        BatchResult result = new BatchResult(ids.length);
+
+        String sql = "DELETE FROM students WHERE id=?";
+        long started = System.nanoTime();
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            for (int start = 0; start < ids.length; start += BATCH_SIZE) {
+                int end = Math.min(start + BATCH_SIZE, ids.length);
+                executeBatchChunk(conn, sql, pendingIndexes(result, start, end),
+                        (pstmt, i) -> pstmt.setInt(1, ids[i]),
+                        i -> new StudentNotFoundException(ids[i]).getMessage(), result, null);
+            }
+        } finally {
+            metrics.recordCall("deleteStudents", started);
+        }
+
+        for (int i = 0; i < ids.length; i++) {
+            if (result.getOutcome(i) == BatchResult.Outcome.SUCCESS) {
+                for (StudentChangeListener listener : changeListeners) {
+                    listener.onStudentDeleted(ids[i]);
+                }
+            }
+        }
+        metrics.recordRowsWritten(result.getSuccessCount());
+        return result;
+    }
+
+    private static boolean validateForBatch(Student student, int index, BatchResult result) {
+        try {
+            StudentValidator.validateStudent(student);
+            return true;
+        } catch (InvalidGPAException | InvalidEmailException | IllegalArgumentException e) {
+            result.set(index, BatchResult.Outcome.INVALID, e.getMessage());
+            return false;
+        }
+    }
+
+    private static List<Integer> pendingIndexes(BatchResult result, int start, int end) {
+        List<Integer> pending = new ArrayList<>(end - start);
+        for (int i = start; i < end; i++) {
+            if (!result.isDecided(i)) {
+                pending.add(i);
+            }
+        }
+        return pending;
+    }
+
+    // One IN query per chunk finds emails that are already registered
+    private static void markExistingEmails(Connection conn, List<Student> rows, int start, int end,
+                                           BatchResult result) throws SQLException {
+        List<Integer> pending = pendingIndexes(result, start, end);
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        String placeholders = String.join(", ", Collections.nCopies(pending.size(), "?"));
+        Set<String> existing = new HashSet<>();
+        try (PreparedStatement pstmt = conn.prepareStatement(
+                "SELECT email FROM students WHERE email IN (" + placeholders + ")")) {
+            for (int k = 0; k < pending.size(); k++) {
+                pstmt.setString(k + 1, rows.get(pending.get(k)).getEmail());
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    existing.add(rs.getString("email").toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+
+        for (int i : pending) {
+            String email = rows.get(i).getEmail();
+            if (existing.contains(email.toLowerCase(Locale.ROOT))) {
+                result.set(i, BatchResult.Outcome.DUPLICATE_EMAIL, new DuplicateEmailException(email).getMessage());
+            }
+        }
+    }
+
+    // Running one chunk as a single transaction; if the server rejects part of it, the chunk is
+    // rolled back and replayed row by row so only the offending rows are reported as failed
+    private static void executeBatchChunk(Connection conn, String sql, List<Integer> pending, RowBinder binder,
+                                          IntFunction<String> notFoundMessage, BatchResult result,
+                                          RowKeys keys) throws SQLException {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        conn.setAutoCommit(false);
+        try {
+            int[] counts;
+            try (PreparedStatement pstmt = prepareBatchStatement(conn, sql, keys != null)) {
+                for (int i : pending) {
+                    binder.bind(pstmt, i);
+                    pstmt.addBatch();
+                }
+                counts = pstmt.executeBatch();
+                if (keys != null) {
+                    keys.readBatch(conn, pstmt, pending);
+                }
+            }
+            conn.commit();
+
+            for (int k = 0; k < pending.size(); k++) {
+                recordRowOutcome(pending.get(k), counts[k], notFoundMessage, result);
+            }
+        } catch (BatchUpdateException e) {
+            conn.rollback();
+            conn.setAutoCommit(true);
+            for (int i : pending) {
+                executeSingleRow(conn, sql, i, binder, notFoundMessage, result, keys);
+            }
+        } catch (SQLException e) {
+            // Any other failure (binding, reading generated keys, a dropped connection) must not leave the
+            // rows already sent to be committed by setAutoCommit(true) below
+            try {
+                conn.rollback();
+            } catch (SQLException rollbackFailure) {
+                e.addSuppressed(rollbackFailure);
+            }
+            throw e;
+        } finally {
+            conn.setAutoCommit(true);
+        }
+    }
+
+    private static void executeSingleRow(Connection conn, String sql, int index, RowBinder binder,
+                                         IntFunction<String> notFoundMessage, BatchResult result,
+                                         RowKeys keys) {
+        try (PreparedStatement pstmt = prepareBatchStatement(conn, sql, keys != null)) {
+            binder.bind(pstmt, index);
+            int count = pstmt.executeUpdate();
+            if (keys != null && count > 0) {
+                keys.readRow(pstmt, index);
+            }
+            recordRowOutcome(index, count, notFoundMessage, result);
+        } catch (SQLException e) {
+            if (e.getErrorCode() == 1062) {
+                result.set(index, BatchResult.Outcome.DUPLICATE_EMAIL, e.getMessage());
+            } else {
+                result.set(index, BatchResult.Outcome.FAILED, e.getMessage());
+            }
+        }
+    }
+
+    private static PreparedStatement prepareBatchStatement(Connection conn, String sql, boolean returnKeys)
+            throws SQLException {
+        return returnKeys ? conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS) : conn.prepareStatement(sql);
+    }
+
+    private static RowKeys generatedKeys(int[] generatedIds) {
+        return new RowKeys() {
+            @Override
+            public void readBatch(Connection conn, PreparedStatement pstmt, List<Integer> pending) throws SQLException {
+                readGeneratedKeys(pstmt, pending, generatedIds);
+            }
+
+            @Override
+            public void readRow(PreparedStatement pstmt, int index) throws SQLException {
+                readGeneratedKeys(pstmt, List.of(index), generatedIds);
+            }
+        };
+    }
+
+    // A batch only reports keys for rows an UPDATE matched, so the chunk's versions are selected instead,
+    // before the commit while the chunk's row locks are still held
+    private static RowKeys versionKeys(List<Student> rows, int[] newVersions) {
+        return new RowKeys() {
+            @Override
+            public void readBatch(Connection conn, PreparedStatement pstmt, List<Integer> pending) throws SQLException {
+                String placeholders = String.join(", ", Collections.nCopies(pending.size(), "?"));
+                try (PreparedStatement select = conn.prepareStatement(
+                        "SELECT id, version FROM students WHERE id IN (" + placeholders + ")")) {
+                    for (int k = 0; k < pending.size(); k++) {
+                        select.setInt(k + 1, rows.get(pending.get(k)).getId());
+                    }
+                    Map<Integer, Integer> versionById = new HashMap<>();
+                    try (ResultSet rs = select.executeQuery()) {
+                        while (rs.next()) {
+                            versionById.put(rs.getInt(1), rs.getInt(2));
+                        }
+                    }
+                    for (int i : pending) {
+                        newVersions[i] = versionById.getOrDefault(rows.get(i).getId(), 0);
+                    }
+                }
+            }
+
+            @Override
+            public void readRow(PreparedStatement pstmt, int index) throws SQLException {
+                readGeneratedKeys(pstmt, List.of(index), newVersions);
+            }
+        };
+    }
+
+    private static void readGeneratedKeys(PreparedStatement pstmt, List<Integer> indexes, int[] values)
+            throws SQLException {
+        try (ResultSet keys = pstmt.getGeneratedKeys()) {
+            for (int i : indexes) {
+                if (keys.next()) {
+                    values[i] = keys.getInt(1);
+                }
+            }
+        }
+    }
+
+    // Rewritten multi-row statements report SUCCESS_NO_INFO instead of a per-row count
+    private static void recordRowOutcome(int index, int count, IntFunction<String> notFoundMessage,
+                                         BatchResult result) {
+        if (count == 0 && notFoundMessage != null) {
+            result.set(index, BatchResult.Outcome.NOT_FOUND, notFoundMessage.apply(index));
+        } else if (count == Statement.EXECUTE_FAILED) {
+            result.set(index, BatchResult.Outcome.FAILED, "Statement failed");
+        } else {
+            result.set(index, BatchResult.Outcome.SUCCESS, null);
+        }
+    }
+
+    private static void setStudentParameters(PreparedStatement pstmt, Student student) throws SQLException {
+        pstmt.setString(1, student.getName());
+        pstmt.setString(2, student.getEmail());
+        pstmt.setString(3, student.getMajor());
+        pstmt.setDouble(4, student.getGpa());
+        pstmt.setDate(5, java.sql.Date.valueOf(student.getEnrollmentDate()));
+    }
+
+    // Point lookups stay on the source even with replicas: edit forms and duplicate checks must see
+    // what was just written. Scans, pages, counts and reports use DatabaseConnection.getReadConnection().
     public Student getStudentById(int id) throws SQLException {
         String sql = "SELECT * FROM students WHERE id=?";
+        long started = System.nanoTime();
         try (Connection conn = DatabaseConnection.getConnection();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setInt(1, id);
@@ -90,14 +514,105 @@ public class StudentDAO {
                 return extractStudentFromResultSet(rs);
             }
             return null;
+        } finally {
+            metrics.recordCall("getStudentById", started);
+        }
+    }
+
+    public Student getStudentByEmail(String email) throws SQLException {
+        String sql = "SELECT * FROM students WHERE email=?";
+        long started = System.nanoTime();
+        try (Connection conn = DatabaseConnection.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setString(1, email);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return extractStudentFromResultSet(rs);
+                }
+                return null;
+            }
+        } finally {
+            metrics.recordCall("getStudentByEmail", started);
+        }
+    }
+
+    // Upper bound on ids per IN list; much longer lists make the range optimizer give up on the primary key
+    public static final int MAX_IN_LIST_IDS = 1_000;
+
+    // Bytes one id adds to the statement text: up to 11 digits plus ", "
+    private static final int BYTES_PER_IN_LIST_ID = 13;
+    private static final int IN_LIST_STATEMENT_OVERHEAD = 256;
+
+    private static volatile int maxAllowedPacket;
+
+    // Looks up many students in a few round trips over one connection.
+    // Duplicate ids are fetched once; ids without a student are absent from the map.
+    public Map<Integer, Student> getStudentsByIds(int[] ids) throws SQLException {
+        int[] distinct = Arrays.stream(ids).sorted().distinct().toArray();
+        Map<Integer, Student> students = new HashMap<>(Math.max(16, distinct.length * 4 / 3 + 1));
+        if (distinct.length == 0) {
+            return students;
         }
+
+        long started = System.nanoTime();
+        try (Connection conn = DatabaseConnection.getConnection()) {
+            int chunkSize = inListChunkSize(conn);
+            PreparedStatement pstmt = null;
+            int preparedSize = -1;
+            try {
+                for (int start = 0; start < distinct.length; start += chunkSize) {
+                    int size = Math.min(chunkSize, distinct.length - start);
+                    // Full chunks share one statement; only the shorter last chunk needs its own
+                    if (size != preparedSize) {
+                        if (pstmt != null) {
+                            pstmt.close();
+                        }
+                        pstmt = conn.prepareStatement("SELECT * FROM students WHERE id IN ("
+                                + String.join(", ", Collections.nCopies(size, "?")) + ")");
+                        preparedSize = size;
+                    }
+
+                    for (int i = 0; i < size; i++) {
+                        pstmt.setInt(i + 1, distinct[start + i]);
+                    }
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        while (rs.next()) {
+                            Student student = extractStudentFromResultSet(rs);
+                            students.put(student.getId(), student);
+                        }
+                    }
+                }
+            } finally {
+                if (pstmt != null) {
+                    pstmt.close();
+                }
+            }
+        } finally {
+            metrics.recordCall("getStudentsByIds", started);
+        }
+        return students;
+    }
+
+    // Ids per statement: MAX_IN_LIST_IDS, or fewer if the server's max_allowed_packet could not take that many
+    private static int inListChunkSize(Connection conn) throws SQLException {
+        int packet = maxAllowedPacket;
+        if (packet == 0) {
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT @@max_allowed_packet")) {
+                packet = rs.next() ? (int) Math.min(Integer.MAX_VALUE, rs.getLong(1)) : 4 * 1024 * 1024;
+            }
+            maxAllowedPacket = packet;
+        }
+        int fitting = (packet - IN_LIST_STATEMENT_OVERHEAD) / BYTES_PER_IN_LIST_ID;
+        return Math.max(1, Math.min(MAX_IN_LIST_IDS, fitting));
     }
 
     public List<Student> getAllStudents() throws DatabaseConnectionException {
         List<Student> students = new ArrayList<>();
         String sql = "SELECT * FROM students";
 
-        try (Connection conn = DatabaseConnection.getConnection();
+        long started = System.nanoTime();
+        try (Connection conn = DatabaseConnection.getReadConnection();
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
             while (rs.next()) {
@@ -105,16 +620,155 @@ public class StudentDAO {
             }
         } catch (SQLException e) {
             throw new DatabaseConnectionException("Failed to retrieve students from database", e);
+        } finally {
+            metrics.recordCall("getAllStudents", started);
         }
 
         return students;
     }
 
+    // Whole table as one columnar batch. Rows are streamed (the driver holds one row at a time instead of
+    // buffering the full result) and copied straight into primitive columns, so peak heap is the batch itself.
+    public StudentBatch getAllStudentsBatch() throws DatabaseConnectionException {
+        StudentBatch batch = new StudentBatch();
+        String sql = "SELECT id, name, email, major, gpa, enrollment_date, version FROM students ORDER BY id";
+
+        long started = System.nanoTime();
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             Statement stmt = conn.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            stmt.setFetchSize(Integer.MIN_VALUE);
+            try (ResultSet rs = stmt.executeQuery(sql)) {
+                while (rs.next()) {
+                    appendToBatch(rs, batch);
+                }
+            }
+        } catch (SQLException e) {
+            throw new DatabaseConnectionException("Failed to retrieve students batch from database", e);
+        } finally {
+            metrics.recordCall("getAllStudentsBatch", started);
+        }
+
+        return batch;
+    }
+
+    // Columnar snapshot for reports: streams only major, gpa and enrollment_date into primitive arrays
+    public StudentAnalytics getAnalyticsSnapshot() throws DatabaseConnectionException {
+        MajorDictionary majors = new MajorDictionary();
+        int size = 0;
+        int[] majorCodes = new int[1024];
+        double[] gpas = new double[1024];
+        int[] enrollmentDays = new int[1024];
+        String sql = "SELECT major, gpa, enrollment_date FROM students";
+
+        long started = System.nanoTime();
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             Statement stmt = conn.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            stmt.setFetchSize(Integer.MIN_VALUE);
+            try (ResultSet rs = stmt.executeQuery(sql)) {
+                while (rs.next()) {
+                    if (size == gpas.length) {
+                        int capacity = size + (size >> 1);
+                        majorCodes = Arrays.copyOf(majorCodes, capacity);
+                        gpas = Arrays.copyOf(gpas, capacity);
+                        enrollmentDays = Arrays.copyOf(enrollmentDays, capacity);
+                    }
+                    majorCodes[size] = majors.encode(rs.getString(1));
+                    gpas[size] = rs.getDouble(2);
+                    enrollmentDays[size] = toEpochDay(rs.getObject(3, java.time.LocalDate.class));
+                    size++;
+                }
+            }
+        } catch (SQLException e) {
+            throw new DatabaseConnectionException("Failed to load analytics snapshot from database", e);
+        } finally {
+            metrics.recordCall("getAnalyticsSnapshot", started);
+        }
+
+        metrics.recordRowsRead(size);
+        return new StudentAnalytics(majors, size, majorCodes, gpas, enrollmentDays);
+    }
+
+    // Keyset pagination: seeks past afterId on the primary key instead of scanning with OFFSET
+    public StudentPage getStudentsPage(int afterId, int pageSize) throws DatabaseConnectionException {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be positive. Provided: " + pageSize);
+        }
+
+        List<Student> students = new ArrayList<>(pageSize);
+        String sql = "SELECT * FROM students WHERE id > ? ORDER BY id LIMIT ?";
+
+        long started = System.nanoTime();
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, afterId);
+            // One extra row tells whether another page follows without a separate COUNT query
+            pstmt.setInt(2, pageSize + 1);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    students.add(extractStudentFromResultSet(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new DatabaseConnectionException("Failed to retrieve students page from database", e);
+        } finally {
+            metrics.recordCall("getStudentsPage", started);
+        }
+
+        boolean hasMore = students.size() > pageSize;
+        if (hasMore) {
+            students.remove(pageSize);
+        }
+        int nextCursor = students.isEmpty() ? afterId : students.get(students.size() - 1).getId();
+        return new StudentPage(students, nextCursor, hasMore);
+    }
+
+    // Cursor that makes getStudentsPage start at the given row position; used to jump into the middle of the table
+    public int getPageCursorAt(int offset) throws DatabaseConnectionException {
+        if (offset <= 0) {
+            return StudentPage.FIRST_CURSOR;
+        }
+
+        // Walks the primary key only, so no row data is read for the skipped rows
+        String sql = "SELECT id FROM students ORDER BY id LIMIT 1 OFFSET ?";
+
+        long started = System.nanoTime();
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, offset - 1);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                // Past the end: a cursor beyond every id yields an empty page
+                return rs.next() ? rs.getInt(1) : Integer.MAX_VALUE;
+            }
+        } catch (SQLException e) {
+            throw new DatabaseConnectionException("Failed to locate students page in database", e);
+        } finally {
+            metrics.recordCall("getPageCursorAt", started);
+        }
+    }
+
+    public int countStudents() throws DatabaseConnectionException {
+        String sql = "SELECT COUNT(*) FROM students";
+
+        long started = System.nanoTime();
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            return rs.next() ? rs.getInt(1) : 0;
+        } catch (SQLException e) {
+            throw new DatabaseConnectionException("Failed to count students in database", e);
+        } finally {
+            metrics.recordCall("countStudents", started);
+        }
+    }
+
     public Set<String> getUniqueMajors() throws DatabaseConnectionException {
         Set<String> majors = new HashSet<>();
         String sql = "SELECT DISTINCT major FROM students";
 
-        try (Connection conn = DatabaseConnection.getConnection();
+        long started = System.nanoTime();
+        try (Connection conn = DatabaseConnection.getReadConnection();
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
             while (rs.next()) {
@@ -122,59 +776,391 @@ public class StudentDAO {
             }
         } catch (SQLException e) {
             throw new DatabaseConnectionException("Failed to retrieve majors from database", e);
+        } finally {
+            metrics.recordCall("getUniqueMajors", started);
         }
 
         return majors;
     }
 
+    // Rows arrive sorted by major, so groups are built in a single pass without hashing every row.
+    // The column's default collation ignores case, so "CS" and "cs" sort together and form one group,
+    // keyed by the first spelling read, as they do in the GROUP BY queries.
     public Map<String, List<Student>> getStudentsByMajor() throws DatabaseConnectionException {
-        List<Student> allStudents = getAllStudents();
-        return allStudents.stream()
-                .collect(Collectors.groupingBy(Student::getMajor));
+        Map<String, List<Student>> byMajor = new LinkedHashMap<>();
+        String sql = "SELECT * FROM students ORDER BY major, id";
+
+        long started = System.nanoTime();
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            List<Student> group = null;
+            String currentMajor = null;
+            while (rs.next()) {
+                Student student = extractStudentFromResultSet(rs);
+                if (!student.getMajor().equalsIgnoreCase(currentMajor)) {
+                    currentMajor = student.getMajor();
+                    group = byMajor.computeIfAbsent(currentMajor, k -> new ArrayList<>());
+                }
+                group.add(student);
+            }
+        } catch (SQLException e) {
+            throw new DatabaseConnectionException("Failed to retrieve students by major from database", e);
+        } finally {
+            metrics.recordCall("getStudentsByMajor", started);
+        }
+
+        byMajor.keySet().forEach(metrics::recordMajorQuery);
+        return byMajor;
     }
 
     public List<Student> getStudentsWithGPAAbove(double minGpa) throws InvalidGPAException, DatabaseConnectionException {
+        return getStudentsWithGPAAbove(minGpa, 0);
+    }
+
+    // Range scan over idx_students_gpa, highest GPA first; limit <= 0 returns every match
+    public List<Student> getStudentsWithGPAAbove(double minGpa, int limit) throws InvalidGPAException,
+            DatabaseConnectionException {
         StudentValidator.validateGPA(minGpa);
 
-        return getAllStudents().stream()
-                .filter(s -> s.getGpa() >= minGpa)
-                .sorted((s1, s2) -> Double.compare(s2.getGpa(), s1.getGpa()))
-                .collect(Collectors.toList());
+        List<Student> students = new ArrayList<>();
+        String sql = "SELECT * FROM students WHERE gpa >= ? ORDER BY gpa DESC, id"
+                + (limit > 0 ? " LIMIT ?" : "");
+
+        long started = System.nanoTime();
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setDouble(1, minGpa);
+            if (limit > 0) {
+                pstmt.setInt(2, limit);
+            }
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    students.add(extractStudentFromResultSet(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new DatabaseConnectionException("Failed to retrieve students by GPA from database", e);
+        } finally {
+            metrics.recordCall("getStudentsWithGPAAbove", started);
+        }
+
+        return students;
+    }
+
+    // Index range scan over idx_students_major_gpa for one major
+    public List<Student> getStudentsWithGPAAbove(String major, double minGpa, int limit) throws InvalidGPAException,
+            DatabaseConnectionException {
+        StudentValidator.validateMajor(major);
+        StudentValidator.validateGPA(minGpa);
+        // Only validated majors are counted, so the per-major counters hold real majors
+        metrics.recordMajorQuery(major);
+
+        List<Student> students = new ArrayList<>();
+        String sql = "SELECT * FROM students WHERE major = ? AND gpa >= ? ORDER BY gpa DESC, id"
+                + (limit > 0 ? " LIMIT ?" : "");
+
+        long started = System.nanoTime();
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setString(1, major);
+            pstmt.setDouble(2, minGpa);
+            if (limit > 0) {
+                pstmt.setInt(3, limit);
+            }
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    students.add(extractStudentFromResultSet(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new DatabaseConnectionException("Failed to retrieve students by major and GPA from database", e);
+        } finally {
+            metrics.recordCall("getStudentsWithGPAAbove(major)", started);
+        }
+
+        return students;
     }
 
     public Map<String, Double> getAverageGPAByMajor() throws DatabaseConnectionException {
-        return getAllStudents().stream()
-                .collect(Collectors.groupingBy(
-                        Student::getMajor,
-                        Collectors.averagingDouble(Student::getGpa)
-                ));
+        return getMajorStatistics().toAverageMap();
     }
 
+    // Count, average, min, max, median and 90th percentile GPA per major in one GROUP BY round trip
+    public MajorStatistics getMajorStatistics() throws DatabaseConnectionException {
+        return getMajorStatistics(false);
+    }
+
+    // inMemory=true computes the same statistics from a columnar snapshot instead of in SQL
+    public MajorStatistics getMajorStatistics(boolean inMemory) throws DatabaseConnectionException {
+        if (inMemory) {
+            MajorStatistics stats = getAnalyticsSnapshot().majorStatistics();
+            for (int i = 0; i < stats.size(); i++) {
+                metrics.recordMajorQuery(stats.getMajor(i));
+            }
+            return stats;
+        }
+
+        // Percentiles use the nearest-rank method over each major's rows ranked by GPA
+        String sql = """
+                SELECT major,
+                       COUNT(*) AS student_count,
+                       AVG(gpa) AS avg_gpa,
+                       MIN(gpa) AS min_gpa,
+                       MAX(gpa) AS max_gpa,
+                       MIN(CASE WHEN rn >= CEIL(0.5 * total) THEN gpa END) AS median_gpa,
+                       MIN(CASE WHEN rn >= CEIL(0.9 * total) THEN gpa END) AS p90_gpa
+                FROM (
+                    SELECT major, gpa,
+                           ROW_NUMBER() OVER (PARTITION BY major ORDER BY gpa) AS rn,
+                           COUNT(*) OVER (PARTITION BY major) AS total
+                    FROM students
+                ) ranked
+                GROUP BY major
+                ORDER BY major
+                """;
+
+        List<String> majors = new ArrayList<>();
+        List<double[]> rows = new ArrayList<>();
+        long started = System.nanoTime();
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            while (rs.next()) {
+                majors.add(rs.getString("major"));
+                rows.add(new double[]{
+                        rs.getLong("student_count"),
+                        rs.getDouble("avg_gpa"),
+                        rs.getDouble("min_gpa"),
+                        rs.getDouble("max_gpa"),
+                        rs.getDouble("median_gpa"),
+                        rs.getDouble("p90_gpa")
+                });
+            }
+        } catch (SQLException e) {
+            throw new DatabaseConnectionException("Failed to compute major statistics", e);
+        } finally {
+            metrics.recordCall("getMajorStatistics", started);
+        }
+        // Every major in the result counts as queried, as in getStudentsByMajor()
+        majors.forEach(metrics::recordMajorQuery);
+
+        int n = majors.size();
+        long[] counts = new long[n];
+        double[] averages = new double[n], minimums = new double[n], maximums = new double[n],
+                medians = new double[n], p90s = new double[n];
+        for (int i = 0; i < n; i++) {
+            double[] row = rows.get(i);
+            counts[i] = (long) row[0];
+            averages[i] = row[1];
+            minimums[i] = row[2];
+            maximums[i] = row[3];
+            medians[i] = row[4];
+            p90s[i] = row[5];
+        }
+        return new MajorStatistics(majors.toArray(new String[0]), counts, averages, minimums, maximums,
+                medians, p90s);
+    }
+
+    public static final int DEFAULT_SEARCH_LIMIT = 50;
+
+    // InnoDB's default innodb_ft_min_token_size; shorter words are not in the full-text index
+    private static final int MIN_FULLTEXT_WORD = 3;
+
+    // Bumped by every search; a search holding an older token has been superseded
+    private final AtomicLong searchGeneration = new AtomicLong();
+
+    // Search-as-you-type over name and email, returning at most `limit` students, best matches first.
+    // Every word of the query must be the start of a word in the name or email, using the FULLTEXT index;
+    // queries with words too short for it, or without a full-text hit, use prefix LIKE on the B-tree indexes.
+    // Starting a search supersedes this DAO's previous one, which then fails with SearchCancelledException
+    // at its next check: before each statement, once the statement returns and between rows. A statement
+    // already on the server is left to finish rather than killed, as KILL QUERY needs a connection of its own
+    // per keystroke; both statements are short, LIMITed index scans.
+    public List<Student> searchStudents(String query, int limit) throws SearchCancelledException,
+            DatabaseConnectionException {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Search limit must be positive. Provided: " + limit);
+        }
+
+        long token = searchGeneration.incrementAndGet();
+        List<String> words = new ArrayList<>();
+        for (String word : query.trim().toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        if (words.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        boolean fullTextUsable = words.stream().allMatch(w -> w.length() >= MIN_FULLTEXT_WORD);
+        if (fullTextUsable) {
+            StringBuilder terms = new StringBuilder();
+            for (String word : words) {
+                terms.append(terms.length() == 0 ? "" : " ").append('+').append(word).append('*');
+            }
+            List<Student> matches = runSearch(query, token,
+                    "SELECT * FROM students WHERE MATCH(name, email) AGAINST (? IN BOOLEAN MODE) "
+                            + "ORDER BY MATCH(name, email) AGAINST (? IN BOOLEAN MODE) DESC, id LIMIT ?",
+                    terms.toString(), terms.toString(), limit);
+            if (!matches.isEmpty()) {
+                return matches;
+            }
+        }
+
+        // Each branch is a range scan on its own index, so this stays cheap for one- and two-letter prefixes
+        String prefix = StudentCriteria.StringField.escapeLike(query.trim()) + "%";
+        return runSearch(query, token,
+                "(SELECT * FROM students WHERE name LIKE ? ORDER BY name LIMIT ?) UNION "
+                        + "(SELECT * FROM students WHERE email LIKE ? ORDER BY email LIMIT ?) "
+                        + "ORDER BY name, id LIMIT ?",
+                prefix, limit, prefix, limit, limit);
+    }
+
+    private List<Student> runSearch(String query, long token, String sql, Object... params)
+            throws SearchCancelledException, DatabaseConnectionException {
+        List<Student> students = new ArrayList<>();
+        ensureCurrentSearch(query, token);
+
+        // One searchStudents sample per statement; a full-text miss that falls back to LIKE records two
+        long started = System.nanoTime();
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < params.length; i++) {
+                pstmt.setObject(i + 1, params[i]);
+            }
+
+            ensureCurrentSearch(query, token);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    ensureCurrentSearch(query, token);
+                    students.add(extractStudentFromResultSet(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new DatabaseConnectionException("Failed to search students in database", e);
+        } finally {
+            metrics.recordCall("searchStudents", started);
+        }
+        // Superseded while the statement ran: the result is already out of date
+        ensureCurrentSearch(query, token);
+        return students;
+    }
+
+    private void ensureCurrentSearch(String query, long token) throws SearchCancelledException {
+        if (searchGeneration.get() != token) {
+            throw new SearchCancelledException(query);
+        }
+    }
+
+    // StudentCriteria filters run as a SQL WHERE clause; any other filter is applied in memory
     public List<Student> filterStudents(StudentFilter filter) throws DatabaseConnectionException {
+        if (filter instanceof StudentCriteria) {
+            return filterStudents((StudentCriteria) filter, 0);
+        }
+
         return getAllStudents().stream()
                 .filter(filter::test)
                 .collect(Collectors.toList());
     }
 
+    public List<Student> filterStudents(StudentCriteria criteria, int limit) throws DatabaseConnectionException {
+        List<String> majors = new ArrayList<>();
+        criteria.collectMajors(majors);
+        for (String major : majors) {
+            // Blank values are not majors; the same rule getStudentsWithGPAAbove(major) validates with
+            if (!major.trim().isEmpty()) {
+                metrics.recordMajorQuery(major);
+            }
+        }
+
+        List<Object> params = new ArrayList<>();
+        String sql = "SELECT * FROM students WHERE " + criteria.toSql(params) + " ORDER BY id"
+                + (limit > 0 ? " LIMIT " + limit : "");
+
+        List<Student> students = new ArrayList<>();
+        long started = System.nanoTime();
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            bindParameters(pstmt, params);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    students.add(extractStudentFromResultSet(rs));
+                }
+            }
+        } catch (SQLException e) {
+            throw new DatabaseConnectionException("Failed to filter students in database", e);
+        } finally {
+            metrics.recordCall("filterStudents", started);
+        }
+
+        return students;
+    }
+
+    private static void bindParameters(PreparedStatement pstmt, List<Object> params) throws SQLException {
+        for (int i = 0; i < params.size(); i++) {
+            Object value = params.get(i);
+            if (value instanceof java.time.LocalDate) {
+                pstmt.setDate(i + 1, java.sql.Date.valueOf((java.time.LocalDate) value));
+            } else {
+                pstmt.setObject(i + 1, value);
+            }
+        }
+    }
+
     public Map<String, Long> countStudentsByMajor() throws DatabaseConnectionException {
-        return getAllStudents().stream()
-                .collect(Collectors.groupingBy(
-                        Student::getMajor,
-                        Collectors.counting()
-                ));
+        Map<String, Long> counts = new LinkedHashMap<>();
+        String sql = "SELECT major, COUNT(*) AS student_count FROM students GROUP BY major ORDER BY major";
+
+        long started = System.nanoTime();
+        try (Connection conn = DatabaseConnection.getReadConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            while (rs.next()) {
+                counts.put(rs.getString("major"), rs.getLong("student_count"));
+            }
+        } catch (SQLException e) {
+            throw new DatabaseConnectionException("Failed to count students by major", e);
+        } finally {
+            metrics.recordCall("countStudentsByMajor", started);
+        }
+
+        return counts;
     }
 
     private Student extractStudentFromResultSet(ResultSet rs) throws SQLException {
-        java.sql.Date sqlDate = rs.getDate("enrollment_date");
-        java.time.LocalDate enrollmentDate = (sqlDate != null) ? sqlDate.toLocalDate() : null;
-
-        return new Student(
+        Student student = new Student(
                 rs.getInt("id"),
                 rs.getString("name"),
                 rs.getString("email"),
                 rs.getString("major"),
                 rs.getDouble("gpa"),
-                enrollmentDate
+                toEpochDay(rs.getObject("enrollment_date", java.time.LocalDate.class))
         );
+        student.setVersion(rs.getInt("version"));
+        metrics.recordRowsRead(1);
+        return student;
+    }
+
+    // Column positions follow the select list in getAllStudentsBatch
+    private void appendToBatch(ResultSet rs, StudentBatch batch) throws SQLException {
+        batch.add(
+                rs.getInt(1),
+                rs.getString(2),
+                rs.getString(3),
+                rs.getString(4),
+                rs.getDouble(5),
+                toEpochDay(rs.getObject(6, java.time.LocalDate.class)),
+                rs.getInt(7)
+        );
+        metrics.recordRowsRead(1);
+    }
+
+    private static int toEpochDay(java.time.LocalDate date) {
+        return date == null ? Student.NO_DATE : Math.toIntExact(date.toEpochDay());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,110 @@
+package dao;
+
+import util.StudentRecordFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Properties;
+import java.util.zip.GZIPOutputStream;
+
+// Exports the students table as CSV or JSON lines without holding it in memory.
+// Rows are read from a streaming or cursor-based result set and written out in
+// fixed-size blocks, so heap use stays flat regardless of the table size.
+public class StudentExporter {
+
+    public enum FetchMode {
+        // fetchSize Integer.MIN_VALUE: the server pushes rows and the driver reads them one at a time
+        STREAMING,
+        // useCursorFetch: the driver pulls rows from a server-side cursor in blocks of CURSOR_FETCH_SIZE
+        CURSOR
+    }
+
+    private static final int CURSOR_FETCH_SIZE = 1_000;
+    private static final int WRITE_BLOCK_CHARS = 64 * 1024;
+
+    private static final String EXPORT_SQL =
+            "SELECT id, name, email, major, gpa, enrollment_date FROM students ORDER BY id";
+
+    private final FetchMode fetchMode;
+
+    public StudentExporter() {
+        this(FetchMode.STREAMING);
+    }
+
+    public StudentExporter(FetchMode fetchMode) {
+        this.fetchMode = fetchMode;
+    }
+
+    // Format and compression follow the file name, e.g. students.csv or students.jsonl.gz
+    public long exportTo(Path file) throws IOException, SQLException {
+        String fileName = file.getFileName().toString();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            return exportTo(channel, StudentRecordFormat.fromFileName(fileName), fileName.endsWith(".gz"));
+        }
+    }
+
+    // Returns the number of exported rows; the channel is left open
+    public long exportTo(WritableByteChannel channel, StudentRecordFormat format, boolean gzip)
+            throws IOException, SQLException {
+        OutputStream out = Channels.newOutputStream(channel);
+        GZIPOutputStream gzipOut = gzip ? new GZIPOutputStream(out, WRITE_BLOCK_CHARS) : null;
+        if (gzipOut != null) {
+            out = gzipOut;
+        }
+
+        Properties props = new Properties();
+        if (fetchMode == FetchMode.CURSOR) {
+            props.setProperty("useCursorFetch", "true");
+        }
+
+        long rows = 0;
+        StringBuilder block = new StringBuilder(WRITE_BLOCK_CHARS + 1024);
+        if (format.header() != null) {
+            block.append(format.header()).append('\n');
+        }
+
+        // A dedicated connection: a streaming result set keeps its connection busy until the last row is read
+        try (Connection conn = DatabaseConnection.openDedicatedReadConnection(props);
+             Statement stmt = conn.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            stmt.setFetchSize(fetchMode == FetchMode.STREAMING ? Integer.MIN_VALUE : CURSOR_FETCH_SIZE);
+
+            try (ResultSet rs = stmt.executeQuery(EXPORT_SQL)) {
+                while (rs.next()) {
+                    java.sql.Date sqlDate = rs.getDate(6);
+                    format.appendRecord(block, rs.getInt(1), rs.getString(2), rs.getString(3), rs.getString(4),
+                            rs.getDouble(5), sqlDate != null ? sqlDate.toLocalDate() : null);
+                    rows++;
+
+                    if (block.length() >= WRITE_BLOCK_CHARS) {
+                        writeBlock(out, block);
+                    }
+                }
+            }
+        }
+
+        writeBlock(out, block);
+        if (gzipOut != null) {
+            gzipOut.finish();
+        }
+        out.flush();
+        return rows;
+    }
+
+    private static void writeBlock(OutputStream out, StringBuilder block) throws IOException {
+        if (block.length() > 0) {
+            out.write(block.toString().getBytes(StandardCharsets.UTF_8));
+            block.setLength(0);
+        }
+    }
+}
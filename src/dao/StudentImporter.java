@@ -0,0 +1,335 @@
+package dao;
+
+import com.mysql.cj.jdbc.JdbcStatement;
+import model.Student;
+import util.StudentRecordFormat;
+import util.StudentValidator;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.GZIPInputStream;
+
+// Bulk loads students from CSV or JSON lines with LOAD DATA LOCAL INFILE.
+// A reader thread cuts the input into chunks, a worker pool parses and validates them in parallel,
+// and the driver streams the valid rows to the server straight from memory in input order.
+// Only a handful of chunks are buffered at any time, so memory use does not grow with the input.
+public class StudentImporter {
+    private static final int CHUNK_ROWS = 2_000;
+
+    // Each LOAD DATA statement commits on its own, which keeps server-side transactions bounded
+    private static final long ROWS_PER_LOAD = 100_000;
+
+    private static final String LOAD_SQL = "LOAD DATA LOCAL INFILE 'students.tsv' IGNORE INTO TABLE students "
+            + "CHARACTER SET utf8mb4 FIELDS TERMINATED BY '\\t' ESCAPED BY '\\\\' LINES TERMINATED BY '\\n' "
+            + "(name, email, major, gpa, enrollment_date)";
+
+    @FunctionalInterface
+    public interface ProgressListener {
+        void onProgress(long rowsRead, long rowsValid, long rowsRejected);
+    }
+
+    private final int parallelism;
+    private ProgressListener progressListener;
+    private Writer rejectedRowsWriter;
+
+    public StudentImporter() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public StudentImporter(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1. Provided: " + parallelism);
+        }
+        this.parallelism = parallelism;
+    }
+
+    // Called after every validated chunk
+    public void setProgressListener(ProgressListener progressListener) {
+        this.progressListener = progressListener;
+    }
+
+    // Receives one "line <n>: <reason>: <original line>" entry per rejected row
+    public void setRejectedRowsWriter(Writer rejectedRowsWriter) {
+        this.rejectedRowsWriter = rejectedRowsWriter;
+    }
+
+    // Format is chosen from the file extension; a trailing .gz is decompressed on the fly
+    public ImportReport importFile(Path file) throws IOException, SQLException {
+        String fileName = file.getFileName().toString();
+        // The file is owned before GZIPInputStream reads the header, so a corrupt .gz still closes it
+        try (InputStream raw = Files.newInputStream(file)) {
+            InputStream in = fileName.endsWith(".gz") ? new GZIPInputStream(raw, 1 << 16) : raw;
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8),
+                    1 << 16)) {
+                return importFrom(reader, StudentRecordFormat.fromFileName(fileName));
+            }
+        }
+    }
+
+    public ImportReport importFrom(BufferedReader reader, StudentRecordFormat format) throws IOException, SQLException {
+        long started = System.currentTimeMillis();
+
+        String firstLine = reader.readLine();
+        if (firstLine == null) {
+            return new ImportReport(0, 0, 0, 0, System.currentTimeMillis() - started);
+        }
+        StudentRecordFormat.Parser parser = format.parserFor(firstLine);
+
+        ExecutorService validators = Executors.newFixedThreadPool(parallelism, r -> {
+            Thread t = new Thread(r, "student-import-validator");
+            t.setDaemon(true);
+            return t;
+        });
+        BlockingQueue<Future<Chunk>> chunks = new ArrayBlockingQueue<>(parallelism * 2);
+
+        Thread readerThread = new Thread(() -> readChunks(reader, parser.isHeaderConsumed() ? null : firstLine,
+                parser.isHeaderConsumed() ? 2 : 1, parser, validators, chunks), "student-import-reader");
+        readerThread.setDaemon(true);
+        readerThread.start();
+
+        ValidatedRowStream rows = new ValidatedRowStream(chunks);
+        long loaded = 0;
+
+        Properties props = new Properties();
+        props.setProperty("allowLoadLocalInfile", "true");
+        try (Connection conn = DatabaseConnection.openDedicatedConnection(props);
+             Statement stmt = conn.createStatement()) {
+            JdbcStatement jdbcStatement = stmt.unwrap(JdbcStatement.class);
+            do {
+                rows.startNextLoad();
+                jdbcStatement.setLocalInfileInputStream(rows);
+                loaded += stmt.executeUpdate(LOAD_SQL);
+            } while (!rows.isExhausted());
+        } catch (SQLException e) {
+            // A failure on our side of the stream surfaces as a driver error; report the real cause
+            if (rows.failure != null) {
+                throw rows.failure;
+            }
+            throw e;
+        } finally {
+            readerThread.interrupt();
+            validators.shutdownNow();
+        }
+
+        if (rows.failure != null) {
+            throw rows.failure;
+        }
+        return new ImportReport(rows.rowsRead, rows.rowsRejected, loaded, rows.rowsValid - loaded,
+                System.currentTimeMillis() - started);
+    }
+
+    private static void readChunks(BufferedReader reader, String pendingFirstLine, long firstLineNumber,
+                                   StudentRecordFormat.Parser parser, ExecutorService validators,
+                                   BlockingQueue<Future<Chunk>> chunks) {
+        try {
+            long lineNumber = firstLineNumber;
+            List<String> lines = new ArrayList<>(CHUNK_ROWS);
+            if (pendingFirstLine != null) {
+                lines.add(pendingFirstLine);
+            }
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+                if (lines.size() == CHUNK_ROWS) {
+                    List<String> batch = lines;
+                    long batchStart = lineNumber;
+                    chunks.put(validators.submit(() -> validate(batch, batchStart, parser)));
+                    lineNumber += batch.size();
+                    lines = new ArrayList<>(CHUNK_ROWS);
+                }
+            }
+
+            if (!lines.isEmpty()) {
+                List<String> batch = lines;
+                long batchStart = lineNumber;
+                chunks.put(validators.submit(() -> validate(batch, batchStart, parser)));
+            }
+            chunks.put(CompletableFuture.completedFuture(Chunk.END));
+
+        } catch (IOException e) {
+            try {
+                chunks.put(CompletableFuture.failedFuture(e));
+            } catch (InterruptedException interrupted) {
+                // The load was aborted
+            }
+        } catch (InterruptedException e) {
+            // The load was aborted
+        }
+    }
+
+    private static Chunk validate(List<String> lines, long firstLineNumber, StudentRecordFormat.Parser parser) {
+        StringBuilder tsv = new StringBuilder(lines.size() * 96);
+        List<String> rejections = new ArrayList<>();
+        int read = 0;
+        int valid = 0;
+
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i);
+            if (line.isBlank()) {
+                continue;
+            }
+            read++;
+            try {
+                Student student = parser.parse(line);
+                StudentValidator.validateStudent(student);
+                appendTsvRow(tsv, student);
+                valid++;
+            } catch (Exception e) {
+                rejections.add("line " + (firstLineNumber + i) + ": " + e.getMessage() + ": " + line);
+            }
+        }
+
+        return new Chunk(tsv.toString().getBytes(StandardCharsets.UTF_8), read, valid, rejections);
+    }
+
+    // LOAD DATA's default text format: tab separated, backslash escaped, newline terminated
+    private static void appendTsvRow(StringBuilder tsv, Student student) {
+        appendTsvField(tsv, student.getName()).append('\t');
+        appendTsvField(tsv, student.getEmail()).append('\t');
+        appendTsvField(tsv, student.getMajor()).append('\t');
+        tsv.append(student.getGpa()).append('\t');
+        tsv.append(student.getEnrollmentDate()).append('\n');
+    }
+
+    private static StringBuilder appendTsvField(StringBuilder tsv, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\': tsv.append("\\\\"); break;
+                case '\t': tsv.append("\\t"); break;
+                case '\n': tsv.append("\\n"); break;
+                case '\r': tsv.append("\\r"); break;
+                case '\0': tsv.append("\\0"); break;
+                default: tsv.append(c);
+            }
+        }
+        return tsv;
+    }
+
+    private static final class Chunk {
+        static final Chunk END = new Chunk(new byte[0], 0, 0, List.of());
+
+        final byte[] tsv;
+        final int read;
+        final int valid;
+        final List<String> rejections;
+
+        Chunk(byte[] tsv, int read, int valid, List<String> rejections) {
+            this.tsv = tsv;
+            this.read = read;
+            this.valid = valid;
+            this.rejections = rejections;
+        }
+    }
+
+    // What the driver reads as the "file"; each LOAD statement sees one segment of roughly ROWS_PER_LOAD rows.
+    // Chunks are taken in submission order, so rows reach the server in input order.
+    private final class ValidatedRowStream extends InputStream {
+        private final BlockingQueue<Future<Chunk>> chunks;
+        private byte[] current = new byte[0];
+        private int position;
+        private long rowsInSegment;
+        private boolean exhausted;
+
+        long rowsRead;
+        long rowsValid;
+        long rowsRejected;
+        IOException failure;
+
+        ValidatedRowStream(BlockingQueue<Future<Chunk>> chunks) {
+            this.chunks = chunks;
+        }
+
+        void startNextLoad() {
+            rowsInSegment = 0;
+        }
+
+        boolean isExhausted() {
+            return exhausted;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) == -1 ? -1 : one[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            while (position >= current.length) {
+                if (exhausted || rowsInSegment >= ROWS_PER_LOAD || !advance()) {
+                    return -1;
+                }
+            }
+
+            int count = Math.min(length, current.length - position);
+            System.arraycopy(current, position, buffer, offset, count);
+            position += count;
+            return count;
+        }
+
+        private boolean advance() throws IOException {
+            Chunk chunk;
+            try {
+                chunk = chunks.take().get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failure = new InterruptedIOException("Import was interrupted");
+                throw failure;
+            } catch (ExecutionException e) {
+                failure = e.getCause() instanceof IOException
+                        ? (IOException) e.getCause() : new IOException("Validation failed", e.getCause());
+                throw failure;
+            }
+
+            if (chunk == Chunk.END) {
+                exhausted = true;
+                return false;
+            }
+
+            rowsRead += chunk.read;
+            rowsValid += chunk.valid;
+            rowsRejected += chunk.rejections.size();
+            rowsInSegment += chunk.valid;
+            current = chunk.tsv;
+            position = 0;
+
+            if (rejectedRowsWriter != null) {
+                for (String rejection : chunk.rejections) {
+                    rejectedRowsWriter.write(rejection);
+                    rejectedRowsWriter.write(System.lineSeparator());
+                }
+            }
+            if (progressListener != null) {
+                progressListener.onProgress(rowsRead, rowsValid, rowsRejected);
+            }
+            return true;
+        }
+
+        // The driver closes the stream after every LOAD statement; the next segment continues from here
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,542 @@
+package dao;
+
+import exception.DatabaseConnectionException;
+import model.Student;
+import model.StudentPage;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// In-process copy of the students table for read-mostly dashboards.
+// Rows live in primitive column arrays addressed by slot, with secondary indexes on top:
+// an open-addressing id -> slot map, a dictionary-encoded major -> slot bitmap,
+// a GPA-sorted slot array for range queries and month buckets over the enrollment date.
+// After attach() the replica follows the DAO's write paths through StudentChangeListener.
+// Nothing in the application creates one; callers that want microsecond dashboard reads attach it themselves.
+public class StudentReplica implements StudentChangeListener {
+    private static final int LOAD_PAGE_SIZE = 5_000;
+    private static final int NO_DATE = Student.NO_DATE;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Column storage; a slot is live when its bit is set
+    private int capacity = 1024;
+    private int[] ids = new int[capacity];
+    private String[] names = new String[capacity];
+    private String[] emails = new String[capacity];
+    private int[] majorCodes = new int[capacity];
+    private double[] gpas = new double[capacity];
+    private int[] enrollmentDays = new int[capacity];
+    private int[] versions = new int[capacity];
+    private final BitSet live = new BitSet();
+    private int highWaterMark;
+    private int[] freeSlots = new int[64];
+    private int freeCount;
+
+    private final IdIndex slotById = new IdIndex(capacity);
+
+    // Major dictionary: code -> name and name -> code, plus one bitmap of slots per code
+    private final List<String> majorNames = new ArrayList<>();
+    private final Map<String, Integer> majorCodeByName = new HashMap<>();
+    private final List<BitSet> slotsByMajor = new ArrayList<>();
+
+    // Slots ordered by GPA ascending, rebuilt lazily after writes
+    private int[] gpaOrder = new int[0];
+    private boolean gpaOrderStale = true;
+
+    // Year * 12 + month -> slots enrolled in that month
+    private final TreeMap<Integer, BitSet> slotsByMonth = new TreeMap<>();
+
+    // Write events that arrive while load() scans the table, replayed over the fresh snapshot;
+    // null when no load is running. Guarded by the write lock.
+    private List<PendingEvent> eventsDuringLoad;
+
+    // An upsert, or a delete when student is null
+    private static final class PendingEvent {
+        final int id;
+        final Student student;
+
+        PendingEvent(int id, Student student) {
+            this.id = id;
+            this.student = student;
+        }
+    }
+
+    // Subscribing to the DAO's writes and then replacing the contents with a fresh keyset scan
+    public void attach(StudentDAO dao) throws DatabaseConnectionException {
+        dao.addChangeListener(this);
+        load(dao);
+    }
+
+    // The scan runs without the lock, so readers keep using the old contents meanwhile. Writes seen
+    // during the scan are applied to the old contents and replayed over the new ones, where the
+    // version check drops any the scan already saw.
+    public synchronized void load(StudentDAO dao) throws DatabaseConnectionException {
+        lock.writeLock().lock();
+        try {
+            eventsDuringLoad = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        List<Student> all = new ArrayList<>();
+        try {
+            StudentPage page;
+            int cursor = StudentPage.FIRST_CURSOR;
+            do {
+                page = dao.getStudentsPage(cursor, LOAD_PAGE_SIZE);
+                all.addAll(page.getStudents());
+                cursor = page.getNextCursor();
+            } while (page.hasMore());
+        } catch (DatabaseConnectionException | RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                eventsDuringLoad = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            clear();
+            for (Student student : all) {
+                upsert(student);
+            }
+            for (PendingEvent event : eventsDuringLoad) {
+                if (event.student == null) {
+                    delete(event.id);
+                } else {
+                    upsert(event.student);
+                }
+            }
+            eventsDuringLoad = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onStudentAdded(Student student) {
+        onStudentUpdated(student);
+    }
+
+    @Override
+    public void onStudentUpdated(Student student) {
+        lock.writeLock().lock();
+        try {
+            upsert(student);
+            if (eventsDuringLoad != null) {
+                // A copy: the caller still owns the Student and may change it before the replay
+                eventsDuringLoad.add(new PendingEvent(student.getId(), toStudent(slotById.get(student.getId()))));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onStudentDeleted(int id) {
+        lock.writeLock().lock();
+        try {
+            delete(id);
+            if (eventsDuringLoad != null) {
+                eventsDuringLoad.add(new PendingEvent(id, null));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Callers hold the write lock
+    private void delete(int id) {
+        int slot = slotById.remove(id);
+        if (slot >= 0) {
+            unindex(slot);
+            live.clear(slot);
+            names[slot] = null;
+            emails[slot] = null;
+            if (freeCount == freeSlots.length) {
+                freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+            }
+            freeSlots[freeCount++] = slot;
+            gpaOrderStale = true;
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Student getStudent(int id) {
+        lock.readLock().lock();
+        try {
+            int slot = slotById.get(id);
+            return slot < 0 ? null : toStudent(slot);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Map<String, Long> countStudentsByMajor() {
+        lock.readLock().lock();
+        try {
+            Map<String, Long> counts = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            for (int code = 0; code < majorNames.size(); code++) {
+                int count = slotsByMajor.get(code).cardinality();
+                if (count > 0) {
+                    counts.merge(majorNames.get(code), (long) count, Long::sum);
+                }
+            }
+            return counts;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Student> getStudentsByMajor(String major) {
+        lock.readLock().lock();
+        try {
+            return toStudentsOrderedById(majorGroups().getOrDefault(major, new BitSet()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Map<String, List<Student>> getStudentsByMajor() {
+        lock.readLock().lock();
+        try {
+            Map<String, List<Student>> byMajor = new LinkedHashMap<>();
+            for (Map.Entry<String, BitSet> group : majorGroups().entrySet()) {
+                if (!group.getValue().isEmpty()) {
+                    byMajor.put(group.getKey(), toStudentsOrderedById(group.getValue()));
+                }
+            }
+            return byMajor;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Slots per major with case ignored, as the column's default collation compares them in SQL;
+    // each group is keyed by the first spelling in the dictionary. Caller holds a lock.
+    private TreeMap<String, BitSet> majorGroups() {
+        TreeMap<String, BitSet> groups = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (int code = 0; code < majorNames.size(); code++) {
+            groups.computeIfAbsent(majorNames.get(code), k -> new BitSet()).or(slotsByMajor.get(code));
+        }
+        return groups;
+    }
+
+    // Highest GPA first, like StudentDAO.getStudentsWithGPAAbove; limit <= 0 returns every match
+    public List<Student> getStudentsWithGPAAbove(double minGpa, int limit) {
+        lock.readLock().lock();
+        try {
+            // A write landing between the rebuild and the read lock makes the order stale again
+            while (gpaOrderStale) {
+                lock.readLock().unlock();
+                try {
+                    rebuildGpaOrder();
+                } finally {
+                    lock.readLock().lock();
+                }
+            }
+
+            int[] order = gpaOrder;
+            int from = lowerBound(order, minGpa);
+            int count = order.length - from;
+            if (limit > 0) {
+                count = Math.min(count, limit);
+            }
+
+            List<Student> result = new ArrayList<>(count);
+            for (int i = order.length - 1; i >= order.length - count; i--) {
+                result.add(toStudent(order[i]));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Both ends inclusive
+    public List<Student> getStudentsEnrolledBetween(LocalDate from, LocalDate to) {
+        int fromDay = (int) from.toEpochDay();
+        int toDay = (int) to.toEpochDay();
+
+        lock.readLock().lock();
+        try {
+            BitSet matches = new BitSet();
+            for (BitSet bucket : slotsByMonth.subMap(monthKey(from), true, monthKey(to), true).values()) {
+                for (int slot = bucket.nextSetBit(0); slot >= 0; slot = bucket.nextSetBit(slot + 1)) {
+                    if (enrollmentDays[slot] >= fromDay && enrollmentDays[slot] <= toDay) {
+                        matches.set(slot);
+                    }
+                }
+            }
+            return toStudentsOrderedById(matches);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Callers hold the write lock. A row older than the one held is ignored, so replaying an event
+    // the load scan already saw cannot roll the row back.
+    private void upsert(Student student) {
+        int slot = slotById.get(student.getId());
+        if (slot >= 0) {
+            if (student.getVersion() < versions[slot]) {
+                return;
+            }
+            unindex(slot);
+        } else {
+            slot = allocateSlot();
+            slotById.put(student.getId(), slot);
+            live.set(slot);
+        }
+
+        ids[slot] = student.getId();
+        names[slot] = student.getName();
+        emails[slot] = student.getEmail();
+        majorCodes[slot] = majorCode(student.getMajor());
+        gpas[slot] = student.getGpa();
+        enrollmentDays[slot] = student.getEnrollmentEpochDay();
+        versions[slot] = student.getVersion();
+
+        slotsByMajor.get(majorCodes[slot]).set(slot);
+        if (enrollmentDays[slot] != NO_DATE) {
+            slotsByMonth.computeIfAbsent(monthKey(student.getEnrollmentDate()), k -> new BitSet()).set(slot);
+        }
+        gpaOrderStale = true;
+    }
+
+    private void unindex(int slot) {
+        slotsByMajor.get(majorCodes[slot]).clear(slot);
+        if (enrollmentDays[slot] != NO_DATE) {
+            BitSet bucket = slotsByMonth.get(monthKey(LocalDate.ofEpochDay(enrollmentDays[slot])));
+            if (bucket != null) {
+                bucket.clear(slot);
+            }
+        }
+    }
+
+    private int allocateSlot() {
+        if (freeCount > 0) {
+            return freeSlots[--freeCount];
+        }
+        if (highWaterMark == capacity) {
+            capacity *= 2;
+            ids = Arrays.copyOf(ids, capacity);
+            names = Arrays.copyOf(names, capacity);
+            emails = Arrays.copyOf(emails, capacity);
+            majorCodes = Arrays.copyOf(majorCodes, capacity);
+            gpas = Arrays.copyOf(gpas, capacity);
+            enrollmentDays = Arrays.copyOf(enrollmentDays, capacity);
+            versions = Arrays.copyOf(versions, capacity);
+        }
+        return highWaterMark++;
+    }
+
+    private int majorCode(String major) {
+        Integer code = majorCodeByName.get(major);
+        if (code == null) {
+            code = majorNames.size();
+            majorNames.add(major);
+            majorCodeByName.put(major, code);
+            slotsByMajor.add(new BitSet());
+        }
+        return code;
+    }
+
+    private void clear() {
+        live.clear();
+        slotById.clear();
+        Arrays.fill(names, null);
+        Arrays.fill(emails, null);
+        highWaterMark = 0;
+        freeCount = 0;
+        majorNames.clear();
+        majorCodeByName.clear();
+        slotsByMajor.clear();
+        slotsByMonth.clear();
+        gpaOrderStale = true;
+    }
+
+    private void rebuildGpaOrder() {
+        lock.writeLock().lock();
+        try {
+            if (!gpaOrderStale) {
+                return;
+            }
+            // Packing (gpa, slot) into sortable longs avoids boxing while sorting
+            long[] keyed = new long[live.cardinality()];
+            int n = 0;
+            for (int slot = live.nextSetBit(0); slot >= 0; slot = live.nextSetBit(slot + 1)) {
+                keyed[n++] = (Math.round(gpas[slot] * 1_000_000) << 32) | (0xFFFFFFFFL & ~ids[slot]);
+            }
+            Arrays.sort(keyed);
+
+            int[] order = new int[n];
+            for (int i = 0; i < n; i++) {
+                order[i] = slotById.get(~(int) keyed[i]);
+            }
+            gpaOrder = order;
+            gpaOrderStale = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // First position in gpaOrder whose GPA is >= minGpa
+    private int lowerBound(int[] order, double minGpa) {
+        int low = 0;
+        int high = order.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (gpas[order[mid]] < minGpa) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private List<Student> toStudentsOrderedById(BitSet slots) {
+        int[] matched = new int[slots.cardinality()];
+        int n = 0;
+        for (int slot = slots.nextSetBit(0); slot >= 0; slot = slots.nextSetBit(slot + 1)) {
+            matched[n++] = ids[slot];
+        }
+        Arrays.sort(matched);
+
+        List<Student> result = new ArrayList<>(n);
+        for (int id : matched) {
+            result.add(toStudent(slotById.get(id)));
+        }
+        return result;
+    }
+
+    private Student toStudent(int slot) {
+        LocalDate date = enrollmentDays[slot] == NO_DATE ? null : LocalDate.ofEpochDay(enrollmentDays[slot]);
+        Student student = new Student(ids[slot], names[slot], emails[slot],
+                majorNames.get(majorCodes[slot]), gpas[slot], date);
+        student.setVersion(versions[slot]);
+        return student;
+    }
+
+    private static int monthKey(LocalDate date) {
+        return date.getYear() * 12 + date.getMonthValue() - 1;
+    }
+
+    // Open-addressing int -> int map with linear probing. Occupancy is tracked separately from the keys,
+    // so every int is a valid id, 0 included. Deletion shifts entries back instead of leaving tombstones.
+    private static final class IdIndex {
+        private int[] keys;
+        private int[] values;
+        private boolean[] used;
+        private int size;
+        private int mask;
+
+        IdIndex(int expected) {
+            allocate(Integer.highestOneBit(Math.max(expected, 8) * 2 - 1) << 1);
+        }
+
+        private void allocate(int buckets) {
+            keys = new int[buckets];
+            values = new int[buckets];
+            used = new boolean[buckets];
+            mask = buckets - 1;
+        }
+
+        private int bucket(int key) {
+            int h = key * 0x9E3779B9;
+            return (h ^ (h >>> 16)) & mask;
+        }
+
+        int size() {
+            return size;
+        }
+
+        int get(int key) {
+            for (int i = bucket(key); used[i]; i = (i + 1) & mask) {
+                if (keys[i] == key) {
+                    return values[i];
+                }
+            }
+            return -1;
+        }
+
+        void put(int key, int value) {
+            if ((size + 1) * 2 > keys.length) {
+                int[] oldKeys = keys;
+                int[] oldValues = values;
+                boolean[] oldUsed = used;
+                allocate(keys.length * 2);
+                size = 0;
+                for (int i = 0; i < oldKeys.length; i++) {
+                    if (oldUsed[i]) {
+                        put(oldKeys[i], oldValues[i]);
+                    }
+                }
+            }
+            for (int i = bucket(key); ; i = (i + 1) & mask) {
+                if (!used[i]) {
+                    used[i] = true;
+                    keys[i] = key;
+                    values[i] = value;
+                    size++;
+                    return;
+                }
+                if (keys[i] == key) {
+                    values[i] = value;
+                    return;
+                }
+            }
+        }
+
+        int remove(int key) {
+            int i = bucket(key);
+            while (keys[i] != key || !used[i]) {
+                if (!used[i]) {
+                    return -1;
+                }
+                i = (i + 1) & mask;
+            }
+            int removed = values[i];
+
+            int gap = i;
+            for (int j = (i + 1) & mask; used[j]; j = (j + 1) & mask) {
+                int home = bucket(keys[j]);
+                boolean movable = j > gap ? (home <= gap || home > j) : (home <= gap && home > j);
+                if (movable) {
+                    keys[gap] = keys[j];
+                    values[gap] = values[j];
+                    gap = j;
+                }
+            }
+            used[gap] = false;
+            size--;
+            return removed;
+        }
+
+        void clear() {
+            Arrays.fill(used, false);
+            size = 0;
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package exception;
+
+public class SearchCancelledException extends Exception {
+    public SearchCancelledException(String query) {
+        super("Search for '" + query + "' was cancelled by a newer search.");
+    }
+}
@@ -0,0 +1,8 @@
+package exception;
+
+public class StaleStudentException extends Exception {
+    public StaleStudentException(int studentId, int expectedVersion) {
+        super("Student with ID " + studentId + " was modified by someone else (expected version "
+                + expectedVersion + "). Reload the student and try again.");
+    }
+}
@@ -0,0 +1,44 @@
+package metrics;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+// Registers the application's MBeans on the platform server under studentmanagement:type=<type>
+public final class MetricsJmx {
+    public static final String DOMAIN = "studentmanagement";
+
+    private MetricsJmx() {
+    }
+
+    // Replaces any bean already registered under the same type, e.g. a pool rebuilt after a config change
+    public static synchronized void register(String type, Object mbean) {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName name = objectName(type);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+            server.registerMBean(mbean, name);
+        } catch (JMException e) {
+            System.err.println("Could not register " + type + " with JMX: " + e.getMessage());
+        }
+    }
+
+    public static synchronized void unregister(String type) {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName name = objectName(type);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+        } catch (JMException e) {
+            System.err.println("Could not unregister " + type + " from JMX: " + e.getMessage());
+        }
+    }
+
+    private static ObjectName objectName(String type) throws JMException {
+        return new ObjectName(DOMAIN + ":type=" + type);
+    }
+}
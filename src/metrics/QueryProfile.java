@@ -0,0 +1,75 @@
+package metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+// Running totals for one SQL fingerprint issued on behalf of one action
+public final class QueryProfile {
+    private final String action;
+    private final String fingerprint;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder bytesSent = new LongAdder();
+    private final LongAdder bytesReceived = new LongAdder();
+    private final LongAdder slowCount = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    QueryProfile(String action, String fingerprint) {
+        this.action = action;
+        this.fingerprint = fingerprint;
+    }
+
+    void record(long nanos, long rowCount, long sent, long received, boolean slow, boolean failed) {
+        latency.record(nanos);
+        rows.add(rowCount);
+        bytesSent.add(sent);
+        bytesReceived.add(received);
+        if (slow) {
+            slowCount.increment();
+        }
+        if (failed) {
+            failures.increment();
+        }
+    }
+
+    // What the application was doing when the statement ran, e.g. a GUI task description
+    public String getAction() {
+        return action;
+    }
+
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    public long getExecutions() {
+        return latency.getCount();
+    }
+
+    public double getTotalMillis() {
+        return latency.getTotalMillis();
+    }
+
+    public long getRows() {
+        return rows.sum();
+    }
+
+    public long getBytesSent() {
+        return bytesSent.sum();
+    }
+
+    public long getBytesReceived() {
+        return bytesReceived.sum();
+    }
+
+    public long getSlowCount() {
+        return slowCount.sum();
+    }
+
+    // Executions that ended in an exception; their time is included in the latency
+    public long getFailures() {
+        return failures.sum();
+    }
+}
@@ -0,0 +1,166 @@
+package metrics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Per-statement profile fed by dao.ProfilingQueryInterceptor: executions are grouped by the action that
+// issued them (set per thread, e.g. by the GUI task runner) and by SQL fingerprint, and statements
+// slower than the threshold are logged. getTopQueriesReport() lists the groups by total time spent.
+public final class QueryProfiler implements QueryProfilerMBean {
+    private static final QueryProfiler INSTANCE = new QueryProfiler();
+    // Beyond this many distinct groups new ones are folded together, so ad hoc SQL cannot grow the map forever
+    private static final int MAX_PROFILES = 1_000;
+    private static final String NO_ACTION = "-";
+    private static final String OTHER = "(other statements)";
+    private static final int DEFAULT_TOP = 10;
+
+    private final ConcurrentHashMap<String, QueryProfile> profiles = new ConcurrentHashMap<>();
+    private final ThreadLocal<String> currentAction = new ThreadLocal<>();
+    private final LongAdder statements = new LongAdder();
+    private final LongAdder slowStatements = new LongAdder();
+    private final LongAdder failedStatements = new LongAdder();
+    private volatile long slowQueryMillis = 500;
+    private boolean jmxRegistered;
+
+    private QueryProfiler() {
+    }
+
+    public static QueryProfiler get() {
+        return INSTANCE;
+    }
+
+    // Attributes statements run by this thread to the action until clearAction()
+    public void setAction(String action) {
+        currentAction.set(action);
+    }
+
+    public void clearAction() {
+        currentAction.remove();
+    }
+
+    public void record(String sql, long nanos, long rows, long bytesSent, long bytesReceived) {
+        record(sql, nanos, rows, bytesSent, bytesReceived, false);
+    }
+
+    // A statement that threw after running for nanos; it is grouped and timed like a successful one
+    public void recordFailure(String sql, long nanos, long bytesSent) {
+        record(sql, nanos, 0, bytesSent, 0, true);
+    }
+
+    private void record(String sql, long nanos, long rows, long bytesSent, long bytesReceived, boolean failed) {
+        String action = currentAction.get();
+        if (action == null) {
+            action = NO_ACTION;
+        }
+        String fingerprint = SqlFingerprint.of(sql);
+        boolean slow = nanos >= slowQueryMillis * 1_000_000L;
+
+        String key = action + '\u0000' + fingerprint;
+        QueryProfile profile = profiles.get(key);
+        if (profile == null) {
+            if (profiles.size() >= MAX_PROFILES) {
+                key = OTHER;
+                profile = profiles.computeIfAbsent(key, k -> new QueryProfile(NO_ACTION, OTHER));
+            } else {
+                String profileAction = action;
+                profile = profiles.computeIfAbsent(key, k -> new QueryProfile(profileAction, fingerprint));
+            }
+        }
+        profile.record(nanos, rows, bytesSent, bytesReceived, slow, failed);
+        statements.increment();
+        if (failed) {
+            failedStatements.increment();
+        }
+
+        if (slow) {
+            slowStatements.increment();
+            // The fingerprint rather than the SQL, so literal values (names, emails) stay out of the log
+            System.err.printf("Slow query: %.1f ms, %d rows, %d bytes received%s [%s] %s%n",
+                    nanos / 1_000_000.0, rows, bytesReceived, failed ? ", failed" : "", action, fingerprint);
+        }
+    }
+
+    public List<QueryProfile> getTopQueries(int limit) {
+        List<QueryProfile> sorted = new ArrayList<>(profiles.values());
+        sorted.sort(Comparator.comparingDouble(QueryProfile::getTotalMillis).reversed());
+        return sorted.subList(0, Math.min(limit, sorted.size()));
+    }
+
+    @Override
+    public long getSlowQueryMillis() {
+        return slowQueryMillis;
+    }
+
+    @Override
+    public void setSlowQueryMillis(long millis) {
+        if (millis < 0) {
+            throw new IllegalArgumentException("Slow query threshold cannot be negative. Provided: " + millis);
+        }
+        slowQueryMillis = millis;
+    }
+
+    @Override
+    public long getStatementCount() {
+        return statements.sum();
+    }
+
+    @Override
+    public long getSlowQueryCount() {
+        return slowStatements.sum();
+    }
+
+    @Override
+    public long getFailedStatementCount() {
+        return failedStatements.sum();
+    }
+
+    @Override
+    public int getFingerprintCount() {
+        return profiles.size();
+    }
+
+    @Override
+    public String getTopQueriesReport() {
+        return getTopQueriesReport(DEFAULT_TOP);
+    }
+
+    @Override
+    public String getTopQueriesReport(int limit) {
+        StringBuilder report = new StringBuilder("=== Top queries by total time ===\n");
+        report.append(String.format("%10s %7s %9s %9s %9s %10s %5s %6s  %s%n",
+                "total ms", "execs", "mean ms", "p99 ms", "rows", "bytes in", "slow", "failed", "action / statement"));
+        for (QueryProfile profile : getTopQueries(limit)) {
+            LatencyHistogram latency = profile.getLatency();
+            report.append(String.format("%10.1f %7d %9.2f %9.2f %9d %10d %5d %6d  [%s] %s%n",
+                    profile.getTotalMillis(), profile.getExecutions(), latency.getMeanMillis(),
+                    latency.getPercentileMillis(99), profile.getRows(), profile.getBytesReceived(),
+                    profile.getSlowCount(), profile.getFailures(), profile.getAction(),
+                    abbreviate(profile.getFingerprint())));
+        }
+        report.append(String.format("statements=%d, slow (>= %d ms)=%d, failed=%d%n", getStatementCount(),
+                slowQueryMillis, getSlowQueryCount(), getFailedStatementCount()));
+        return report.toString();
+    }
+
+    @Override
+    public void reset() {
+        profiles.clear();
+        statements.reset();
+        slowStatements.reset();
+        failedStatements.reset();
+    }
+
+    public synchronized void registerJmx() {
+        if (!jmxRegistered) {
+            MetricsJmx.register("QueryProfiler", this);
+            jmxRegistered = true;
+        }
+    }
+
+    private static String abbreviate(String fingerprint) {
+        return fingerprint.length() <= 160 ? fingerprint : fingerprint.substring(0, 157) + "...";
+    }
+}
@@ -0,0 +1,22 @@
+package metrics;
+
+// JMX view of QueryProfiler, registered as studentmanagement:type=QueryProfiler
+public interface QueryProfilerMBean {
+    long getSlowQueryMillis();
+
+    void setSlowQueryMillis(long millis);
+
+    long getStatementCount();
+
+    long getSlowQueryCount();
+
+    long getFailedStatementCount();
+
+    int getFingerprintCount();
+
+    String getTopQueriesReport();
+
+    String getTopQueriesReport(int limit);
+
+    void reset();
+}
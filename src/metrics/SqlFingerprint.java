@@ -0,0 +1,97 @@
+package metrics;
+
+import java.util.regex.Pattern;
+
+// Normalizes SQL so executions that differ only in literal values group together:
+// string and numeric literals become ?, placeholder lists such as IN (?, ?, ?) collapse to (?+),
+// comments are dropped and whitespace runs become one space.
+public final class SqlFingerprint {
+    private static final Pattern PLACEHOLDER_LIST = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern VALUES_ROWS =
+            Pattern.compile("(?i)(VALUES \\(\\?\\+\\))(\\s*,\\s*\\(\\?\\+\\))+");
+
+    private SqlFingerprint() {
+    }
+
+    public static String of(String sql) {
+        StringBuilder out = new StringBuilder(Math.min(sql.length(), 256));
+        int n = sql.length();
+        int i = 0;
+        while (i < n) {
+            char c = sql.charAt(i);
+            if (c == '\'' || c == '"') {
+                i = skipQuoted(sql, i, c);
+                out.append('?');
+            } else if (c == '-' && i + 1 < n && sql.charAt(i + 1) == '-' || c == '#') {
+                while (i < n && sql.charAt(i) != '\n') {
+                    i++;
+                }
+            } else if (c == '/' && i + 1 < n && sql.charAt(i + 1) == '*') {
+                int end = sql.indexOf("*/", i + 2);
+                i = end < 0 ? n : end + 2;
+            } else if (Character.isWhitespace(c)) {
+                while (i < n && Character.isWhitespace(sql.charAt(i))) {
+                    i++;
+                }
+                if (out.length() > 0 && out.charAt(out.length() - 1) != ' ') {
+                    out.append(' ');
+                }
+            } else if (isNumberStart(sql, i, out)) {
+                while (i < n && (Character.isLetterOrDigit(sql.charAt(i)) || sql.charAt(i) == '.')) {
+                    i++;
+                }
+                out.append('?');
+            } else if (Character.isLetter(c) || c == '_' || c == '`') {
+                int start = i;
+                while (i < n && (Character.isLetterOrDigit(sql.charAt(i)) || sql.charAt(i) == '_'
+                        || sql.charAt(i) == '`' || sql.charAt(i) == '$')) {
+                    i++;
+                }
+                out.append(sql, start, i);
+            } else {
+                out.append(c);
+                i++;
+            }
+        }
+        return collapseLists(out.toString().trim());
+    }
+
+    // Index just past the closing quote; a doubled quote or a backslash escapes the next character
+    private static int skipQuoted(String sql, int open, char quote) {
+        int i = open + 1;
+        while (i < sql.length()) {
+            char c = sql.charAt(i);
+            if (c == '\\') {
+                i += 2;
+            } else if (c == quote) {
+                if (i + 1 < sql.length() && sql.charAt(i + 1) == quote) {
+                    i += 2;
+                } else {
+                    return i + 1;
+                }
+            } else {
+                i++;
+            }
+        }
+        return i;
+    }
+
+    // A digit, or a sign/dot directly before one, that is not part of an identifier such as t1
+    private static boolean isNumberStart(String sql, int i, StringBuilder out) {
+        char c = sql.charAt(i);
+        boolean digitNext = i + 1 < sql.length() && Character.isDigit(sql.charAt(i + 1));
+        if (!Character.isDigit(c) && !(c == '.' && digitNext)) {
+            return false;
+        }
+        if (out.length() == 0) {
+            return true;
+        }
+        char previous = out.charAt(out.length() - 1);
+        return !(Character.isLetterOrDigit(previous) || previous == '_' || previous == '`');
+    }
+
+    private static String collapseLists(String sql) {
+        String collapsed = PLACEHOLDER_LIST.matcher(sql).replaceAll("(?+)");
+        return VALUES_ROWS.matcher(collapsed).replaceAll("$1+");
+    }
+}
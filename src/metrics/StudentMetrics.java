@@ -0,0 +1,201 @@
+package metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Process-wide counters for the data access layer: a latency histogram per StudentDAO method,
+// rows read and written, connection acquire waits and queries per major. Recording never locks,
+// so the DAO can call it on every operation. Exposed over JMX and as an optional periodic dump.
+public final class StudentMetrics implements StudentMetricsMBean {
+    private static final StudentMetrics INSTANCE = new StudentMetrics();
+    // Distinct majors counted by name; queries for any further major are counted under OTHER_MAJORS
+    private static final int MAX_TRACKED_MAJORS = 100;
+    public static final String OTHER_MAJORS = "(other)";
+
+    private final ConcurrentHashMap<String, LatencyHistogram> latencies = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, LongAdder> majorQueries = new ConcurrentHashMap<>();
+    private final LongAdder otherMajorQueries = new LongAdder();
+    private final LatencyHistogram connectionAcquire = new LatencyHistogram();
+    private final LongAdder rowsRead = new LongAdder();
+    private final LongAdder rowsWritten = new LongAdder();
+
+    private boolean jmxRegistered;
+    private ScheduledExecutorService dumper;
+    private long dumpIntervalSeconds;
+
+    private StudentMetrics() {
+    }
+
+    public static StudentMetrics get() {
+        return INSTANCE;
+    }
+
+    // startedNanos is a System.nanoTime() taken when the method was entered
+    public void recordCall(String method, long startedNanos) {
+        latencies.computeIfAbsent(method, m -> new LatencyHistogram()).recordSince(startedNanos);
+    }
+
+    public void recordRowsRead(long rows) {
+        rowsRead.add(rows);
+    }
+
+    public void recordRowsWritten(long rows) {
+        rowsWritten.add(rows);
+    }
+
+    public void recordConnectionAcquire(long waitNanos) {
+        connectionAcquire.record(waitNanos);
+    }
+
+    // The size check races with concurrent callers, so the map can pass the cap by a few entries at most
+    public void recordMajorQuery(String major) {
+        LongAdder count = majorQueries.get(major);
+        if (count == null) {
+            count = majorQueries.size() < MAX_TRACKED_MAJORS
+                    ? majorQueries.computeIfAbsent(major, m -> new LongAdder())
+                    : otherMajorQueries;
+        }
+        count.increment();
+    }
+
+    // Histogram for the method, or null when it has not been called yet
+    public LatencyHistogram getLatency(String method) {
+        return latencies.get(method);
+    }
+
+    public LatencyHistogram getConnectionAcquire() {
+        return connectionAcquire;
+    }
+
+    @Override
+    public long getRowsRead() {
+        return rowsRead.sum();
+    }
+
+    @Override
+    public long getRowsWritten() {
+        return rowsWritten.sum();
+    }
+
+    @Override
+    public long getConnectionAcquireCount() {
+        return connectionAcquire.getCount();
+    }
+
+    @Override
+    public double getConnectionAcquireP99Millis() {
+        return connectionAcquire.getPercentileMillis(99);
+    }
+
+    @Override
+    public double getConnectionAcquireMaxMillis() {
+        return connectionAcquire.getMaxMillis();
+    }
+
+    @Override
+    public String[] getInstrumentedMethods() {
+        return new TreeMap<>(latencies).keySet().toArray(new String[0]);
+    }
+
+    @Override
+    public long getCallCount(String method) {
+        LatencyHistogram histogram = latencies.get(method);
+        return histogram == null ? 0 : histogram.getCount();
+    }
+
+    @Override
+    public double getMeanMillis(String method) {
+        LatencyHistogram histogram = latencies.get(method);
+        return histogram == null ? 0.0 : histogram.getMeanMillis();
+    }
+
+    @Override
+    public double getPercentileMillis(String method, double percentile) {
+        LatencyHistogram histogram = latencies.get(method);
+        return histogram == null ? 0.0 : histogram.getPercentileMillis(percentile);
+    }
+
+    @Override
+    public long getMajorQueryCount(String major) {
+        LongAdder count = OTHER_MAJORS.equals(major) ? otherMajorQueries : majorQueries.get(major);
+        return count == null ? 0 : count.sum();
+    }
+
+    public Map<String, Long> getMajorQueryCounts() {
+        Map<String, Long> counts = new TreeMap<>();
+        majorQueries.forEach((major, count) -> counts.put(major, count.sum()));
+        long other = otherMajorQueries.sum();
+        if (other > 0) {
+            counts.put(OTHER_MAJORS, other);
+        }
+        return counts;
+    }
+
+    @Override
+    public String getReport() {
+        StringBuilder report = new StringBuilder("=== StudentDAO metrics ===\n");
+        report.append(String.format("%-34s %9s %9s %9s %9s %9s %9s%n",
+                "method", "calls", "mean ms", "p50 ms", "p99 ms", "max ms", "total ms"));
+        for (Map.Entry<String, LatencyHistogram> entry : new TreeMap<>(latencies).entrySet()) {
+            LatencyHistogram h = entry.getValue();
+            report.append(String.format("%-34s %9d %9.2f %9.2f %9.2f %9.2f %9.0f%n", entry.getKey(), h.getCount(),
+                    h.getMeanMillis(), h.getPercentileMillis(50), h.getPercentileMillis(99), h.getMaxMillis(),
+                    h.getTotalMillis()));
+        }
+        report.append(String.format("rows read=%d, rows written=%d%n", getRowsRead(), getRowsWritten()));
+        report.append("connection acquire: ").append(connectionAcquire).append('\n');
+        if (!majorQueries.isEmpty()) {
+            report.append("queries by major: ").append(getMajorQueryCounts()).append('\n');
+        }
+        return report.toString();
+    }
+
+    @Override
+    public void reset() {
+        latencies.clear();
+        majorQueries.clear();
+        otherMajorQueries.reset();
+        connectionAcquire.reset();
+        rowsRead.reset();
+        rowsWritten.reset();
+    }
+
+    public synchronized void registerJmx() {
+        if (!jmxRegistered) {
+            MetricsJmx.register("StudentMetrics", this);
+            jmxRegistered = true;
+        }
+    }
+
+    // Prints getReport() and the QueryProfiler top queries to standard output every intervalSeconds; 0 stops it
+    public synchronized void startPeriodicDump(long intervalSeconds) {
+        if (intervalSeconds == dumpIntervalSeconds && (dumper != null || intervalSeconds <= 0)) {
+            return;
+        }
+        stopPeriodicDump();
+        if (intervalSeconds <= 0) {
+            return;
+        }
+        dumper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "student-metrics-dump");
+            thread.setDaemon(true);
+            return thread;
+        });
+        dumper.scheduleAtFixedRate(() -> System.out.print(getReport() + QueryProfiler.get().getTopQueriesReport()),
+                intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+        dumpIntervalSeconds = intervalSeconds;
+    }
+
+    public synchronized void stopPeriodicDump() {
+        if (dumper != null) {
+            dumper.shutdownNow();
+            dumper = null;
+        }
+        dumpIntervalSeconds = 0;
+    }
+}
@@ -0,0 +1,28 @@
+package metrics;
+
+// JMX view of StudentMetrics, registered as studentmanagement:type=StudentMetrics
+public interface StudentMetricsMBean {
+    long getRowsRead();
+
+    long getRowsWritten();
+
+    long getConnectionAcquireCount();
+
+    double getConnectionAcquireP99Millis();
+
+    double getConnectionAcquireMaxMillis();
+
+    String[] getInstrumentedMethods();
+
+    String getReport();
+
+    long getCallCount(String method);
+
+    double getMeanMillis(String method);
+
+    double getPercentileMillis(String method, double percentile);
+
+    long getMajorQueryCount(String major);
+
+    void reset();
+}
@@ -0,0 +1,39 @@
+package model;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+// Dictionary encoding for majors: each distinct major gets a small int code and one canonical String.
+// A few dozen majors repeat across every row, so rows keep the code instead of a private copy per row.
+// Codes are assigned in first-seen order. A dictionary belongs to one StudentBatch or analytics snapshot
+// and is dropped with it; it is filled by the thread that builds the batch and only read afterwards.
+public final class MajorDictionary {
+    private final Map<String, Integer> codes = new HashMap<>();
+    private String[] majors = new String[16];
+    private int size;
+
+    public int encode(String major) {
+        Integer code = codes.get(major);
+        if (code != null) {
+            return code;
+        }
+        if (size == majors.length) {
+            majors = Arrays.copyOf(majors, size * 2);
+        }
+        majors[size] = major;
+        codes.put(major, size);
+        return size++;
+    }
+
+    public String decode(int code) {
+        if (code < 0 || code >= size) {
+            throw new IndexOutOfBoundsException("Major code " + code + " outside dictionary of " + size);
+        }
+        return majors[code];
+    }
+
+    public int size() {
+        return size;
+    }
+}
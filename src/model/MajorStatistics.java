@@ -0,0 +1,107 @@
+package model;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Per-major GPA statistics stored as parallel primitive arrays, one slot per major
+public class MajorStatistics {
+    private final String[] majors;
+    private final long[] counts;
+    private final double[] averages;
+    private final double[] minimums;
+    private final double[] maximums;
+    private final double[] medians;
+    private final double[] p90s;
+
+    public MajorStatistics(String[] majors, long[] counts, double[] averages, double[] minimums,
+                           double[] maximums, double[] medians, double[] p90s) {
+        int n = majors.length;
+        if (counts.length != n || averages.length != n || minimums.length != n
+                || maximums.length != n || medians.length != n || p90s.length != n) {
+            throw new IllegalArgumentException("All statistic columns must have one entry per major");
+        }
+        this.majors = majors;
+        this.counts = counts;
+        this.averages = averages;
+        this.minimums = minimums;
+        this.maximums = maximums;
+        this.medians = medians;
+        this.p90s = p90s;
+    }
+
+    public int size() {
+        return majors.length;
+    }
+
+    // Slot of the given major, or -1 when no student has it
+    public int indexOf(String major) {
+        for (int i = 0; i < majors.length; i++) {
+            if (majors[i].equals(major)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public String getMajor(int index) {
+        return majors[index];
+    }
+
+    public long getCount(int index) {
+        return counts[index];
+    }
+
+    public double getAverageGpa(int index) {
+        return averages[index];
+    }
+
+    public double getMinGpa(int index) {
+        return minimums[index];
+    }
+
+    public double getMaxGpa(int index) {
+        return maximums[index];
+    }
+
+    public double getMedianGpa(int index) {
+        return medians[index];
+    }
+
+    public double getP90Gpa(int index) {
+        return p90s[index];
+    }
+
+    public long getTotalCount() {
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        return total;
+    }
+
+    public Map<String, Double> toAverageMap() {
+        Map<String, Double> result = new LinkedHashMap<>();
+        for (int i = 0; i < majors.length; i++) {
+            result.put(majors[i], averages[i]);
+        }
+        return result;
+    }
+
+    public Map<String, Long> toCountMap() {
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (int i = 0; i < majors.length; i++) {
+            result.put(majors[i], counts[i]);
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("MajorStatistics{");
+        for (int i = 0; i < majors.length; i++) {
+            if (i > 0) sb.append(", ");
+            sb.append(majors[i]).append("=").append(counts[i]).append("@").append(averages[i]);
+        }
+        return sb.append("}").toString();
+    }
+}
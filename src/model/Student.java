@@ -4,12 +4,18 @@ import java.time.LocalDate;
 import java.util.Objects;
 
 public class Student {
+    // enrollmentDay value for a student without an enrollment date
+    public static final int NO_DATE = Integer.MIN_VALUE;
+
     private int id;
     private String name;
     private String email;
     private String major;
     private double gpa;
-    private LocalDate enrollmentDate;
+    // Stored as an epoch day: an int field instead of a reference to a separate LocalDate object
+    private int enrollmentDay = NO_DATE;
+    // Row version for optimistic concurrency; incremented by every update
+    private int version;
 
     public Student() {}
 
@@ -19,7 +25,16 @@ public class Student {
         this.email = email;
         this.major = major;
         this.gpa = gpa;
-        this.enrollmentDate = enrollmentDate;
+        setEnrollmentDate(enrollmentDate);
+    }
+
+    public Student(int id, String name, String email, String major, double gpa, int enrollmentEpochDay) {
+        this.id = id;
+        this.name = name;
+        this.email = email;
+        this.major = major;
+        this.gpa = gpa;
+        this.enrollmentDay = enrollmentEpochDay;
     }
 
     // Getters and Setters
@@ -64,11 +79,27 @@ public class Student {
     }
 
     public LocalDate getEnrollmentDate() {
-        return enrollmentDate;
+        return enrollmentDay == NO_DATE ? null : LocalDate.ofEpochDay(enrollmentDay);
     }
 
     public void setEnrollmentDate(LocalDate enrollmentDate) {
-        this.enrollmentDate = enrollmentDate;
+        this.enrollmentDay = enrollmentDate == null ? NO_DATE : Math.toIntExact(enrollmentDate.toEpochDay());
+    }
+
+    public int getEnrollmentEpochDay() {
+        return enrollmentDay;
+    }
+
+    public void setEnrollmentEpochDay(int enrollmentEpochDay) {
+        this.enrollmentDay = enrollmentEpochDay;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public void setVersion(int version) {
+        this.version = version;
     }
 
     @Override
@@ -87,6 +118,6 @@ public class Student {
     @Override
     public String toString() {
         return "Student{id=" + id + ", name='" + name + "', email='" + email +
-                "', major='" + major + "', gpa=" + gpa + ", enrollmentDate=" + enrollmentDate + "}";
+                "', major='" + major + "', gpa=" + gpa + ", enrollmentDate=" + getEnrollmentDate() + "}";
     }
 }
\ No newline at end of file
@@ -0,0 +1,140 @@
+package model;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Column-oriented block of students for bulk reads. Each field lives in its own primitive array,
+// majors are dictionary codes and dates are epoch days, so a row costs its two strings plus ~24 bytes
+// instead of a Student and a LocalDate object. Rows are appended by StudentDAO and read by index.
+public class StudentBatch {
+    private final MajorDictionary majors;
+    private int size;
+    private int[] ids;
+    private String[] names;
+    private String[] emails;
+    private int[] majorCodes;
+    private double[] gpas;
+    private int[] enrollmentDays;
+    private int[] versions;
+
+    public StudentBatch() {
+        this(1024, new MajorDictionary());
+    }
+
+    public StudentBatch(int initialCapacity, MajorDictionary majors) {
+        int capacity = Math.max(16, initialCapacity);
+        this.majors = majors;
+        ids = new int[capacity];
+        names = new String[capacity];
+        emails = new String[capacity];
+        majorCodes = new int[capacity];
+        gpas = new double[capacity];
+        enrollmentDays = new int[capacity];
+        versions = new int[capacity];
+    }
+
+    public void add(int id, String name, String email, String major, double gpa, int enrollmentEpochDay, int version) {
+        if (size == ids.length) {
+            grow();
+        }
+        ids[size] = id;
+        names[size] = name;
+        emails[size] = email;
+        majorCodes[size] = majors.encode(major);
+        gpas[size] = gpa;
+        enrollmentDays[size] = enrollmentEpochDay;
+        versions[size] = version;
+        size++;
+    }
+
+    private void grow() {
+        int capacity = ids.length + (ids.length >> 1);
+        ids = Arrays.copyOf(ids, capacity);
+        names = Arrays.copyOf(names, capacity);
+        emails = Arrays.copyOf(emails, capacity);
+        majorCodes = Arrays.copyOf(majorCodes, capacity);
+        gpas = Arrays.copyOf(gpas, capacity);
+        enrollmentDays = Arrays.copyOf(enrollmentDays, capacity);
+        versions = Arrays.copyOf(versions, capacity);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public MajorDictionary getMajorDictionary() {
+        return majors;
+    }
+
+    public int getId(int row) {
+        return ids[checkRow(row)];
+    }
+
+    public String getName(int row) {
+        return names[checkRow(row)];
+    }
+
+    public String getEmail(int row) {
+        return emails[checkRow(row)];
+    }
+
+    public int getMajorCode(int row) {
+        return majorCodes[checkRow(row)];
+    }
+
+    public String getMajor(int row) {
+        return majors.decode(majorCodes[checkRow(row)]);
+    }
+
+    public double getGpa(int row) {
+        return gpas[checkRow(row)];
+    }
+
+    // Student.NO_DATE when the row has no enrollment date
+    public int getEnrollmentEpochDay(int row) {
+        return enrollmentDays[checkRow(row)];
+    }
+
+    public LocalDate getEnrollmentDate(int row) {
+        int day = enrollmentDays[checkRow(row)];
+        return day == Student.NO_DATE ? null : LocalDate.ofEpochDay(day);
+    }
+
+    public int getVersion(int row) {
+        return versions[checkRow(row)];
+    }
+
+    public Student toStudent(int row) {
+        checkRow(row);
+        Student student = new Student(ids[row], names[row], emails[row], majors.decode(majorCodes[row]), gpas[row],
+                enrollmentDays[row]);
+        student.setVersion(versions[row]);
+        return student;
+    }
+
+    public List<Student> toStudents() {
+        List<Student> students = new ArrayList<>(size);
+        for (int row = 0; row < size; row++) {
+            students.add(toStudent(row));
+        }
+        return students;
+    }
+
+    private int checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " outside batch of " + size);
+        }
+        return row;
+    }
+
+    @Override
+    public String toString() {
+        return "StudentBatch{size=" + size + ", majors=" + majors.size() + "}";
+    }
+}
@@ -0,0 +1,46 @@
+package model;
+
+import java.util.Collections;
+import java.util.List;
+
+// One page of a keyset-paginated scan over students ordered by id
+public class StudentPage {
+    // Cursor value that starts a scan from the beginning of the table
+    public static final int FIRST_CURSOR = 0;
+
+    private final List<Student> students;
+    private final int nextCursor;
+    private final boolean hasMore;
+
+    public StudentPage(List<Student> students, int nextCursor, boolean hasMore) {
+        this.students = Collections.unmodifiableList(students);
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+    }
+
+    public List<Student> getStudents() {
+        return students;
+    }
+
+    // Id of the last student on this page; pass it back to fetch the following page
+    public int getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasMore() {
+        return hasMore;
+    }
+
+    public int size() {
+        return students.size();
+    }
+
+    public boolean isEmpty() {
+        return students.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "StudentPage{size=" + students.size() + ", nextCursor=" + nextCursor + ", hasMore=" + hasMore + "}";
+    }
+}
@@ -0,0 +1,53 @@
+package util;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Executors for blocking JDBC work that must not run on the caller's thread.
+// On Java 21+ every task gets its own virtual thread; older runtimes fall back to
+// a fixed pool of daemon platform threads. The lookup is reflective so the project still builds on Java 17.
+public final class BackgroundExecutors {
+
+    private static final boolean VIRTUAL_THREADS = virtualThreadFactory("probe-") != null;
+
+    private BackgroundExecutors() {
+    }
+
+    public static boolean isVirtualThreadsAvailable() {
+        return VIRTUAL_THREADS;
+    }
+
+    // platformThreads only applies to the fallback pool
+    public static ExecutorService newExecutor(String threadName, int platformThreads) {
+        if (isVirtualThreadsAvailable()) {
+            ThreadFactory factory = virtualThreadFactory(threadName + "-");
+            try {
+                return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+                        .invoke(null, factory);
+            } catch (ReflectiveOperationException e) {
+                // Fall through to platform threads
+            }
+        }
+
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(platformThreads, r -> {
+            Thread t = new Thread(r, threadName + "-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    // Thread.ofVirtual().name(prefix, 1).factory(), or null when virtual threads are missing or still a preview
+    private static ThreadFactory virtualThreadFactory(String namePrefix) {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, namePrefix, 1L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,356 @@
+package util;
+
+import model.Student;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Line-oriented text formats used to import and export students.
+// CSV follows RFC 4180 except that quoted fields may not span lines; JSON_LINES holds one flat object per line.
+public enum StudentRecordFormat {
+    CSV,
+    JSON_LINES;
+
+    public static final String[] COLUMNS = {"id", "name", "email", "major", "gpa", "enrollment_date"};
+
+    // Column order assumed for CSV input that has no header line
+    private static final String[] DEFAULT_CSV_COLUMNS = {"name", "email", "major", "gpa", "enrollment_date"};
+
+    public static StudentRecordFormat fromFileName(String fileName) {
+        String lower = fileName.toLowerCase(Locale.ROOT);
+        if (lower.endsWith(".gz")) {
+            lower = lower.substring(0, lower.length() - 3);
+        }
+        if (lower.endsWith(".json") || lower.endsWith(".jsonl") || lower.endsWith(".ndjson")) {
+            return JSON_LINES;
+        }
+        return CSV;
+    }
+
+    // Header line written before the first record, or null when the format has none
+    public String header() {
+        return this == CSV ? String.join(",", COLUMNS) : null;
+    }
+
+    // Building the parser from the first line of the input; for CSV a header line fixes the column order
+    public Parser parserFor(String firstLine) {
+        if (this == JSON_LINES) {
+            return new Parser(this, null, false);
+        }
+
+        List<String> fields = new ArrayList<>();
+        for (String field : splitCsv(firstLine)) {
+            fields.add(field.trim().toLowerCase(Locale.ROOT));
+        }
+        boolean isHeader = fields.contains("email") && fields.contains("name");
+        String[] columns = isHeader ? fields.toArray(new String[0]) : DEFAULT_CSV_COLUMNS;
+        return new Parser(this, columns, isHeader);
+    }
+
+    public void appendRecord(StringBuilder out, int id, String name, String email, String major,
+                             double gpa, LocalDate enrollmentDate) {
+        if (this == CSV) {
+            out.append(id).append(',');
+            appendCsvField(out, name).append(',');
+            appendCsvField(out, email).append(',');
+            appendCsvField(out, major).append(',');
+            out.append(gpa).append(',');
+            if (enrollmentDate != null) {
+                out.append(enrollmentDate);
+            }
+        } else {
+            out.append("{\"id\":").append(id).append(",\"name\":");
+            appendJsonString(out, name).append(",\"email\":");
+            appendJsonString(out, email).append(",\"major\":");
+            appendJsonString(out, major).append(",\"gpa\":").append(gpa).append(",\"enrollment_date\":");
+            if (enrollmentDate != null) {
+                out.append('"').append(enrollmentDate).append('"');
+            } else {
+                out.append("null");
+            }
+            out.append('}');
+        }
+        out.append('\n');
+    }
+
+    public void appendRecord(StringBuilder out, Student student) {
+        appendRecord(out, student.getId(), student.getName(), student.getEmail(), student.getMajor(),
+                student.getGpa(), student.getEnrollmentDate());
+    }
+
+    // Immutable, so one instance can be shared by parallel validation workers
+    public static final class Parser {
+        private final StudentRecordFormat format;
+        private final Map<String, Integer> columnIndex;
+        private final boolean headerConsumed;
+
+        private Parser(StudentRecordFormat format, String[] columns, boolean headerConsumed) {
+            this.format = format;
+            this.headerConsumed = headerConsumed;
+            this.columnIndex = new HashMap<>();
+            if (columns != null) {
+                for (int i = 0; i < columns.length; i++) {
+                    columnIndex.put(columns[i], i);
+                }
+            }
+        }
+
+        // True when the first line was a header and must not be parsed as a record
+        public boolean isHeaderConsumed() {
+            return headerConsumed;
+        }
+
+        // Parsing one line; blank lines yield null and malformed ones throw IllegalArgumentException
+        public Student parse(String line) {
+            if (line.isBlank()) {
+                return null;
+            }
+            Map<String, String> values = format == CSV ? csvValues(line) : JsonLine.parse(line);
+
+            Student student = new Student();
+            student.setName(trimToNull(values.get("name")));
+            student.setEmail(trimToNull(values.get("email")));
+            student.setMajor(trimToNull(values.get("major")));
+
+            String gpa = trimToNull(values.get("gpa"));
+            if (gpa == null) {
+                throw new IllegalArgumentException("Missing gpa");
+            }
+            try {
+                student.setGpa(Double.parseDouble(gpa));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid gpa: " + gpa);
+            }
+
+            String date = trimToNull(values.containsKey("enrollment_date")
+                    ? values.get("enrollment_date") : values.get("enrollmentdate"));
+            try {
+                // Rows without a date are treated as enrolling on the day of the import, like the GUI does
+                student.setEnrollmentDate(date == null ? LocalDate.now() : LocalDate.parse(date));
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid enrollment_date: " + date);
+            }
+            return student;
+        }
+
+        private Map<String, String> csvValues(String line) {
+            List<String> fields = splitCsv(line);
+            Map<String, String> values = new HashMap<>();
+            for (Map.Entry<String, Integer> column : columnIndex.entrySet()) {
+                if (column.getValue() < fields.size()) {
+                    values.put(column.getKey(), fields.get(column.getValue()));
+                }
+            }
+            return values;
+        }
+    }
+
+    private static String trimToNull(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    private static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static StringBuilder appendCsvField(StringBuilder out, String value) {
+        if (value == null) {
+            return out;
+        }
+        boolean needsQuotes = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!needsQuotes) {
+            return out.append(value);
+        }
+        return out.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+
+    private static StringBuilder appendJsonString(StringBuilder out, String value) {
+        if (value == null) {
+            return out.append("null");
+        }
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"': out.append("\\\""); break;
+                case '\\': out.append("\\\\"); break;
+                case '\n': out.append("\\n"); break;
+                case '\r': out.append("\\r"); break;
+                case '\t': out.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+            }
+        }
+        return out.append('"');
+    }
+
+    // Minimal reader for one flat JSON object with string, number, boolean or null values
+    private static final class JsonLine {
+        private final String text;
+        private int pos;
+
+        private JsonLine(String text) {
+            this.text = text;
+        }
+
+        static Map<String, String> parse(String line) {
+            JsonLine reader = new JsonLine(line);
+            Map<String, String> values = reader.readObject();
+            reader.skipWhitespace();
+            if (reader.pos != line.length()) {
+                throw new IllegalArgumentException("Unexpected content after JSON object");
+            }
+            return values;
+        }
+
+        private Map<String, String> readObject() {
+            Map<String, String> values = new HashMap<>();
+            expect('{');
+            skipWhitespace();
+            if (peek() == '}') {
+                pos++;
+                return values;
+            }
+            while (true) {
+                skipWhitespace();
+                String key = readString().toLowerCase(Locale.ROOT);
+                skipWhitespace();
+                expect(':');
+                skipWhitespace();
+                values.put(key, readValue());
+                skipWhitespace();
+                char c = next();
+                if (c == '}') {
+                    return values;
+                }
+                if (c != ',') {
+                    throw new IllegalArgumentException("Expected ',' or '}' at position " + (pos - 1));
+                }
+            }
+        }
+
+        private String readValue() {
+            char c = peek();
+            if (c == '"') {
+                return readString();
+            }
+            if (c == '{' || c == '[') {
+                throw new IllegalArgumentException("Nested JSON values are not supported");
+            }
+            int start = pos;
+            while (pos < text.length() && ",} \t".indexOf(text.charAt(pos)) < 0) {
+                pos++;
+            }
+            String literal = text.substring(start, pos);
+            if (literal.isEmpty()) {
+                throw new IllegalArgumentException("Missing JSON value at position " + start);
+            }
+            return "null".equals(literal) ? null : literal;
+        }
+
+        private String readString() {
+            expect('"');
+            StringBuilder sb = new StringBuilder();
+            while (true) {
+                char c = next();
+                if (c == '"') {
+                    return sb.toString();
+                }
+                if (c != '\\') {
+                    sb.append(c);
+                    continue;
+                }
+                char escaped = next();
+                switch (escaped) {
+                    case 'n': sb.append('\n'); break;
+                    case 'r': sb.append('\r'); break;
+                    case 't': sb.append('\t'); break;
+                    case 'b': sb.append('\b'); break;
+                    case 'f': sb.append('\f'); break;
+                    case 'u':
+                        if (pos + 4 > text.length()) {
+                            throw new IllegalArgumentException("Truncated unicode escape");
+                        }
+                        try {
+                            sb.append((char) Integer.parseInt(text.substring(pos, pos + 4), 16));
+                        } catch (NumberFormatException e) {
+                            throw new IllegalArgumentException("Invalid unicode escape");
+                        }
+                        pos += 4;
+                        break;
+                    default: sb.append(escaped);
+                }
+            }
+        }
+
+        private void skipWhitespace() {
+            while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        private char peek() {
+            if (pos >= text.length()) {
+                throw new IllegalArgumentException("Unexpected end of JSON line");
+            }
+            return text.charAt(pos);
+        }
+
+        private char next() {
+            char c = peek();
+            pos++;
+            return c;
+        }
+
+        private void expect(char expected) {
+            if (next() != expected) {
+                throw new IllegalArgumentException("Expected '" + expected + "' at position " + (pos - 1));
+            }
+        }
+    }
+}
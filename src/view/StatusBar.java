@@ -0,0 +1,52 @@
+package view;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.List;
+
+// Bottom line of the main window: the last message, plus a busy indicator and
+// a cancel button while background tasks are running
+public class StatusBar extends JPanel {
+    private final TaskRunner tasks;
+    private final JLabel messageLabel = new JLabel("Ready");
+    private final JProgressBar busyIndicator = new JProgressBar();
+    private final JButton cancelBtn = new JButton("Cancel");
+    private String message = "Ready";
+
+    public StatusBar(TaskRunner tasks) {
+        super(new BorderLayout(10, 0));
+        this.tasks = tasks;
+        setBorder(BorderFactory.createEmptyBorder(2, 4, 2, 4));
+
+        busyIndicator.setIndeterminate(true);
+        busyIndicator.setPreferredSize(new Dimension(120, 14));
+        cancelBtn.addActionListener(e -> tasks.cancelAll());
+
+        JPanel right = new JPanel(new FlowLayout(FlowLayout.RIGHT, 6, 0));
+        right.add(busyIndicator);
+        right.add(cancelBtn);
+
+        add(messageLabel, BorderLayout.CENTER);
+        add(right, BorderLayout.EAST);
+
+        tasks.addChangeListener(this::update);
+        update();
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+        update();
+    }
+
+    private void update() {
+        List<String> running = tasks.getRunningDescriptions();
+        if (running.isEmpty()) {
+            messageLabel.setText(message);
+        } else {
+            String current = running.get(running.size() - 1);
+            messageLabel.setText(running.size() == 1 ? current + "..." : current + "... (+" + (running.size() - 1) + " more)");
+        }
+        busyIndicator.setVisible(!running.isEmpty());
+        cancelBtn.setVisible(tasks.hasCancellableTasks());
+    }
+}
@@ -1,25 +1,34 @@
 package view;
 
+import dao.CachingStudentDAO;
 import dao.DatabaseConnection;
 import dao.StudentDAO;
 import model.Student;
 import exception.*;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import java.awt.*;
 import java.time.LocalDate;
-import java.util.List;
-import java.util.Map;
 
 public class StudentManagementGUI extends JFrame {
+    private static final String FILTER_TASK = "filter";
+    private static final String SEARCH_TASK = "search";
+    // Quiet period after the last keystroke before a search is sent
+    private static final int SEARCH_DEBOUNCE_MILLIS = 250;
+
     private StudentDAO dao;
+    private final TaskRunner tasks = new TaskRunner();
+    private StatusBar statusBar;
     private JTable table;
-    private DefaultTableModel tableModel;
+    private StudentTableModel tableModel;
     private JTextField nameField, emailField, majorField, gpaField;
+    private JTextField searchField;
+    private Timer searchTimer;
 
     public StudentManagementGUI() {
-        dao = new StudentDAO();
+        dao = new CachingStudentDAO();
 
         try {
             DatabaseConnection.initializeDatabase();
@@ -55,6 +64,9 @@ public class StudentManagementGUI extends JFrame {
         mainPanel.add(buttonPanel, BorderLayout.SOUTH);
 
         add(mainPanel);
+
+        statusBar = new StatusBar(tasks);
+        add(statusBar, BorderLayout.SOUTH);
     }
 
     private JPanel createFormPanel() {
@@ -81,13 +93,8 @@ public class StudentManagementGUI extends JFrame {
     private JPanel createTablePanel() {
         JPanel panel = new JPanel(new BorderLayout());
 
-        String[] columns = {"ID", "Name", "Email", "Major", "GPA", "Enrollment Date"};
-        tableModel = new DefaultTableModel(columns, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        tableModel = new StudentTableModel(dao);
+        tableModel.setErrorHandler(this::showLoadError);
 
         table = new JTable(tableModel);
         table.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
@@ -99,10 +106,42 @@ public class StudentManagementGUI extends JFrame {
 
         JScrollPane scrollPane = new JScrollPane(table);
         panel.add(scrollPane, BorderLayout.CENTER);
+        panel.add(createSearchPanel(), BorderLayout.NORTH);
 
         return panel;
     }
 
+    private JPanel createSearchPanel() {
+        JPanel panel = new JPanel(new BorderLayout(10, 0));
+        panel.setBorder(BorderFactory.createEmptyBorder(0, 0, 5, 0));
+
+        searchField = new JTextField();
+        searchField.setToolTipText("Search by name or email");
+
+        // Every keystroke restarts the timer, so only the text the user pauses on is searched
+        searchTimer = new Timer(SEARCH_DEBOUNCE_MILLIS, e -> searchStudents());
+        searchTimer.setRepeats(false);
+        searchField.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                searchTimer.restart();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                searchTimer.restart();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+            }
+        });
+
+        panel.add(new JLabel("Search:"), BorderLayout.WEST);
+        panel.add(searchField, BorderLayout.CENTER);
+        return panel;
+    }
+
     private JPanel createButtonPanel() {
         JPanel panel = new JPanel(new FlowLayout(FlowLayout.CENTER, 10, 10));
 
@@ -112,6 +151,7 @@ public class StudentManagementGUI extends JFrame {
         JButton clearBtn = new JButton("Clear Fields");
         JButton statsBtn = new JButton("View Statistics");
         JButton filterBtn = new JButton("Filter High GPA");
+        JButton refreshBtn = new JButton("Refresh");
 
         addBtn.addActionListener(e -> addStudent());
         updateBtn.addActionListener(e -> updateStudent());
@@ -119,6 +159,7 @@ public class StudentManagementGUI extends JFrame {
         clearBtn.addActionListener(e -> clearFields());
         statsBtn.addActionListener(e -> showStatistics());
         filterBtn.addActionListener(e -> filterHighGPA());
+        refreshBtn.addActionListener(e -> loadStudents());
 
         panel.add(addBtn);
         panel.add(updateBtn);
@@ -126,13 +167,14 @@ public class StudentManagementGUI extends JFrame {
         panel.add(clearBtn);
         panel.add(statsBtn);
         panel.add(filterBtn);
+        panel.add(refreshBtn);
 
         return panel;
     }
 
     private void addStudent() {
+        Student student = new Student();
         try {
-            Student student = new Student();
             student.setName(nameField.getText().trim());
             student.setEmail(emailField.getText().trim());
             student.setMajor(majorField.getText().trim());
@@ -146,42 +188,60 @@ public class StudentManagementGUI extends JFrame {
             student.setGpa(gpa);
             student.setEnrollmentDate(LocalDate.now());
 
-            dao.addStudent(student);
-
-            JOptionPane.showMessageDialog(this,
-                    "Student added successfully!",
-                    "Success",
-                    JOptionPane.INFORMATION_MESSAGE);
-
-            loadStudents();
-            clearFields();
-
         } catch (NumberFormatException ex) {
             JOptionPane.showMessageDialog(this,
                     "Invalid GPA format. Please enter a valid number (e.g., 3.5)",
                     "Input Error",
                     JOptionPane.ERROR_MESSAGE);
-        } catch (InvalidGPAException ex) {
+            return;
+        } catch (IllegalArgumentException ex) {
+            JOptionPane.showMessageDialog(this,
+                    ex.getMessage(),
+                    "Validation Error",
+                    JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+
+        tasks.submit("add-student", "Adding student", TaskRunner.Mode.RUN_ONCE,
+                () -> {
+                    dao.addStudent(student);
+                    return student;
+                },
+                added -> {
+                    statusBar.setMessage("Added " + added.getName());
+                    JOptionPane.showMessageDialog(this,
+                            "Student added successfully!",
+                            "Success",
+                            JOptionPane.INFORMATION_MESSAGE);
+
+                    tableModel.applyInsert(added);
+                    clearFields();
+                },
+                this::showAddError);
+    }
+
+    private void showAddError(Exception ex) {
+        if (ex instanceof InvalidGPAException) {
             JOptionPane.showMessageDialog(this,
                     ex.getMessage(),
                     "Invalid GPA",
                     JOptionPane.ERROR_MESSAGE);
-        } catch (InvalidEmailException ex) {
+        } else if (ex instanceof InvalidEmailException) {
             JOptionPane.showMessageDialog(this,
                     ex.getMessage(),
                     "Invalid Email",
                     JOptionPane.ERROR_MESSAGE);
-        } catch (DuplicateEmailException ex) {
+        } else if (ex instanceof DuplicateEmailException) {
             JOptionPane.showMessageDialog(this,
                     ex.getMessage(),
                     "Duplicate Email",
                     JOptionPane.ERROR_MESSAGE);
-        } catch (IllegalArgumentException ex) {
+        } else if (ex instanceof IllegalArgumentException) {
             JOptionPane.showMessageDialog(this,
                     ex.getMessage(),
                     "Validation Error",
                     JOptionPane.ERROR_MESSAGE);
-        } catch (Exception ex) {
+        } else {
             JOptionPane.showMessageDialog(this,
                     "Unexpected error: " + ex.getMessage(),
                     "Error",
@@ -200,46 +260,62 @@ public class StudentManagementGUI extends JFrame {
             return;
         }
 
-        try {
-            int id = (int) tableModel.getValueAt(selectedRow, 0);
+        Student selected = tableModel.getStudentAt(selectedRow);
+        if (selected == null) {
+            return;
+        }
 
-            Student student = new Student();
-            student.setId(id);
+        Student student = new Student();
+        try {
+            student.setId(selected.getId());
             student.setName(nameField.getText().trim());
             student.setEmail(emailField.getText().trim());
             student.setMajor(majorField.getText().trim());
 
             double gpa = Double.parseDouble(gpaField.getText().trim());
             student.setGpa(gpa);
-            student.setEnrollmentDate((LocalDate) tableModel.getValueAt(selectedRow, 5));
-
-            dao.updateStudent(student);
-
-            JOptionPane.showMessageDialog(this,
-                    "Student updated successfully!",
-                    "Success",
-                    JOptionPane.INFORMATION_MESSAGE);
-
-            loadStudents();
-            clearFields();
+            student.setEnrollmentDate(selected.getEnrollmentDate());
 
         } catch (NumberFormatException ex) {
             JOptionPane.showMessageDialog(this,
                     "Invalid GPA format. Please enter a valid number.",
                     "Input Error",
                     JOptionPane.ERROR_MESSAGE);
-        } catch (StudentNotFoundException ex) {
+            return;
+        }
+
+        tasks.submit("update-student", "Updating student", TaskRunner.Mode.RUN_ONCE,
+                () -> {
+                    dao.updateStudent(student);
+                    return student;
+                },
+                updated -> {
+                    statusBar.setMessage("Updated " + updated.getName());
+                    JOptionPane.showMessageDialog(this,
+                            "Student updated successfully!",
+                            "Success",
+                            JOptionPane.INFORMATION_MESSAGE);
+
+                    tableModel.applyUpdate(updated);
+                    clearFields();
+                },
+                ex -> showUpdateError(student.getId(), ex));
+    }
+
+    private void showUpdateError(int id, Exception ex) {
+        if (ex instanceof StudentNotFoundException) {
             JOptionPane.showMessageDialog(this,
                     ex.getMessage(),
                     "Student Not Found",
                     JOptionPane.ERROR_MESSAGE);
-            loadStudents();
-        } catch (InvalidGPAException | InvalidEmailException ex) {
+            // Someone else deleted it; drop the row rather than reloading the table
+            tableModel.applyRemove(id);
+        } else if (ex instanceof InvalidGPAException || ex instanceof InvalidEmailException) {
             JOptionPane.showMessageDialog(this,
                     ex.getMessage(),
                     "Validation Error",
                     JOptionPane.ERROR_MESSAGE);
-        } catch (Exception ex) {
+        } else {
             JOptionPane.showMessageDialog(this,
                     "Error updating student: " + ex.getMessage(),
                     "Error",
@@ -264,51 +340,90 @@ public class StudentManagementGUI extends JFrame {
                 JOptionPane.YES_NO_OPTION,
                 JOptionPane.WARNING_MESSAGE);
 
-        if (confirm == JOptionPane.YES_OPTION) {
-            try {
-                int id = (int) tableModel.getValueAt(selectedRow, 0);
-                dao.deleteStudent(id);
-
-                JOptionPane.showMessageDialog(this,
-                        "Student deleted successfully!",
-                        "Success",
-                        JOptionPane.INFORMATION_MESSAGE);
-
-                loadStudents();
-                clearFields();
+        Student selected = tableModel.getStudentAt(selectedRow);
+        if (confirm == JOptionPane.YES_OPTION && selected != null) {
+            tasks.submit("delete-student", "Deleting student", TaskRunner.Mode.RUN_ONCE,
+                    () -> {
+                        dao.deleteStudent(selected.getId());
+                        return selected;
+                    },
+                    deleted -> {
+                        statusBar.setMessage("Deleted " + deleted.getName());
+                        JOptionPane.showMessageDialog(this,
+                                "Student deleted successfully!",
+                                "Success",
+                                JOptionPane.INFORMATION_MESSAGE);
+
+                        tableModel.applyRemove(deleted.getId());
+                        clearFields();
+                    },
+                    ex -> showDeleteError(selected.getId(), ex));
+        }
+    }
 
-            } catch (StudentNotFoundException ex) {
-                JOptionPane.showMessageDialog(this,
-                        ex.getMessage(),
-                        "Student Not Found",
-                        JOptionPane.ERROR_MESSAGE);
-                loadStudents();
-            } catch (Exception ex) {
-                JOptionPane.showMessageDialog(this,
-                        "Error deleting student: " + ex.getMessage(),
-                        "Error",
-                        JOptionPane.ERROR_MESSAGE);
-                ex.printStackTrace();
-            }
+    private void showDeleteError(int id, Exception ex) {
+        if (ex instanceof StudentNotFoundException) {
+            JOptionPane.showMessageDialog(this,
+                    ex.getMessage(),
+                    "Student Not Found",
+                    JOptionPane.ERROR_MESSAGE);
+            tableModel.applyRemove(id);
+        } else {
+            JOptionPane.showMessageDialog(this,
+                    "Error deleting student: " + ex.getMessage(),
+                    "Error",
+                    JOptionPane.ERROR_MESSAGE);
+            ex.printStackTrace();
         }
     }
 
+    // Explicit full reload; writes made from this window patch the table in place instead.
+    // Rows are fetched page by page as the table scrolls; this only resets the model.
+    // A filter still in flight would replace the full list when it lands, so it is dropped.
     private void loadStudents() {
-        try {
-            tableModel.setRowCount(0);
-            List<Student> students = dao.getAllStudents();
+        tasks.cancel(FILTER_TASK);
+        tasks.cancel(SEARCH_TASK);
+        tableModel.refresh();
+    }
 
-            students.forEach(s -> tableModel.addRow(new Object[]{
-                    s.getId(), s.getName(), s.getEmail(),
-                    s.getMajor(), s.getGpa(), s.getEnrollmentDate()
-            }));
+    // Top matches for the search box; clearing the box goes back to the full table.
+    // A newer search supersedes the previous one: the DAO stops reading its rows and the runner drops its result.
+    private void searchStudents() {
+        String query = searchField.getText().trim();
+        if (query.isEmpty()) {
+            loadStudents();
+            statusBar.setMessage("Ready");
+            return;
+        }
 
-        } catch (DatabaseConnectionException ex) {
+        tasks.submit(SEARCH_TASK, "Searching", TaskRunner.Mode.LATEST_WINS,
+                () -> dao.searchStudents(query, StudentDAO.DEFAULT_SEARCH_LIMIT),
+                matches -> {
+                    tasks.cancel(FILTER_TASK);
+                    tableModel.showStudents(matches);
+                    statusBar.setMessage(matches.size() == StudentDAO.DEFAULT_SEARCH_LIMIT
+                            ? "Top " + matches.size() + " matches for '" + query + "'"
+                            : matches.size() + " matches for '" + query + "'");
+                },
+                ex -> {
+                    // Superseded by a newer search, whose result is on its way
+                    if (ex instanceof SearchCancelledException) {
+                        return;
+                    }
+                    JOptionPane.showMessageDialog(this,
+                            "Error searching students: " + ex.getMessage(),
+                            "Error",
+                            JOptionPane.ERROR_MESSAGE);
+                });
+    }
+
+    private void showLoadError(Exception ex) {
+        if (ex instanceof DatabaseConnectionException) {
             JOptionPane.showMessageDialog(this,
                     "Database connection error: " + ex.getMessage(),
                     "Connection Error",
                     JOptionPane.ERROR_MESSAGE);
-        } catch (Exception ex) {
+        } else {
             JOptionPane.showMessageDialog(this,
                     "Error loading students: " + ex.getMessage(),
                     "Error",
@@ -320,10 +435,14 @@ public class StudentManagementGUI extends JFrame {
         int selectedRow = table.getSelectedRow();
         if (selectedRow != -1) {
             try {
-                nameField.setText((String) tableModel.getValueAt(selectedRow, 1));
-                emailField.setText((String) tableModel.getValueAt(selectedRow, 2));
-                majorField.setText((String) tableModel.getValueAt(selectedRow, 3));
-                gpaField.setText(String.valueOf(tableModel.getValueAt(selectedRow, 4)));
+                Student student = tableModel.getStudentAt(selectedRow);
+                if (student == null) {
+                    return;
+                }
+                nameField.setText(student.getName());
+                emailField.setText(student.getEmail());
+                majorField.setText(student.getMajor());
+                gpaField.setText(String.valueOf(student.getGpa()));
             } catch (Exception ex) {
                 JOptionPane.showMessageDialog(this,
                         "Error loading student data: " + ex.getMessage(),
@@ -342,88 +461,97 @@ public class StudentManagementGUI extends JFrame {
     }
 
     private void showStatistics() {
-        try {
-            StringBuilder stats = new StringBuilder();
-            stats.append("=== STUDENT STATISTICS ===\n\n");
-
-            Map<String, Double> avgGPA = dao.getAverageGPAByMajor();
-            stats.append("Average GPA by Major:\n");
-
-            avgGPA.forEach((major, avg) ->
-                    stats.append(String.format("  %s: %.2f\n", major, avg))
-            );
-
-            stats.append("\n");
-
-            Map<String, Long> counts = dao.countStudentsByMajor();
-            stats.append("Student Count by Major:\n");
-
-            counts.forEach((major, count) ->
-                    stats.append(String.format("  %s: %d students\n", major, count))
-            );
-
-            JOptionPane.showMessageDialog(this,
-                    stats.toString(),
-                    "Statistics",
-                    JOptionPane.INFORMATION_MESSAGE);
-
-        } catch (DatabaseConnectionException ex) {
-            JOptionPane.showMessageDialog(this,
-                    "Database error: " + ex.getMessage(),
-                    "Error",
-                    JOptionPane.ERROR_MESSAGE);
-        } catch (Exception ex) {
-            JOptionPane.showMessageDialog(this,
-                    "Error generating statistics: " + ex.getMessage(),
-                    "Error",
-                    JOptionPane.ERROR_MESSAGE);
-        }
+        // A single GROUP BY query provides both the averages and the counts
+        tasks.submit("statistics", "Computing statistics", TaskRunner.Mode.LATEST_WINS,
+                dao::getMajorStatistics,
+                majorStats -> {
+                    StringBuilder stats = new StringBuilder();
+                    stats.append("=== STUDENT STATISTICS ===\n\n");
+                    stats.append("Average GPA by Major:\n");
+
+                    for (int i = 0; i < majorStats.size(); i++) {
+                        stats.append(String.format("  %s: %.2f (min %.2f, median %.2f, max %.2f)\n",
+                                majorStats.getMajor(i), majorStats.getAverageGpa(i), majorStats.getMinGpa(i),
+                                majorStats.getMedianGpa(i), majorStats.getMaxGpa(i)));
+                    }
+
+                    stats.append("\n");
+
+                    stats.append("Student Count by Major:\n");
+
+                    for (int i = 0; i < majorStats.size(); i++) {
+                        stats.append(String.format("  %s: %d students\n", majorStats.getMajor(i), majorStats.getCount(i)));
+                    }
+
+                    JOptionPane.showMessageDialog(this,
+                            stats.toString(),
+                            "Statistics",
+                            JOptionPane.INFORMATION_MESSAGE);
+                },
+                ex -> {
+                    if (ex instanceof DatabaseConnectionException) {
+                        JOptionPane.showMessageDialog(this,
+                                "Database error: " + ex.getMessage(),
+                                "Error",
+                                JOptionPane.ERROR_MESSAGE);
+                    } else {
+                        JOptionPane.showMessageDialog(this,
+                                "Error generating statistics: " + ex.getMessage(),
+                                "Error",
+                                JOptionPane.ERROR_MESSAGE);
+                    }
+                });
     }
 
     private void filterHighGPA() {
-        try {
-            String input = JOptionPane.showInputDialog(this,
-                    "Enter minimum GPA (0.0-4.0):",
-                    "Filter by GPA",
-                    JOptionPane.QUESTION_MESSAGE);
-
-            if (input != null && !input.trim().isEmpty()) {
-                double minGpa = Double.parseDouble(input.trim());
-                List<Student> filtered = dao.getStudentsWithGPAAbove(minGpa);
-
-                tableModel.setRowCount(0);
-
-                filtered.forEach(s -> tableModel.addRow(new Object[]{
-                        s.getId(), s.getName(), s.getEmail(),
-                        s.getMajor(), s.getGpa(), s.getEnrollmentDate()
-                }));
+        String input = JOptionPane.showInputDialog(this,
+                "Enter minimum GPA (0.0-4.0):",
+                "Filter by GPA",
+                JOptionPane.QUESTION_MESSAGE);
 
-                JOptionPane.showMessageDialog(this,
-                        "Found " + filtered.size() + " students with GPA >= " + minGpa,
-                        "Filter Results",
-                        JOptionPane.INFORMATION_MESSAGE);
-            }
+        if (input == null || input.trim().isEmpty()) {
+            return;
+        }
 
+        double minGpa;
+        try {
+            minGpa = Double.parseDouble(input.trim());
         } catch (NumberFormatException ex) {
             JOptionPane.showMessageDialog(this,
                     "Invalid GPA format. Please enter a valid number.",
                     "Input Error",
                     JOptionPane.ERROR_MESSAGE);
-        } catch (InvalidGPAException ex) {
-            JOptionPane.showMessageDialog(this,
-                    ex.getMessage(),
-                    "Invalid GPA",
-                    JOptionPane.ERROR_MESSAGE);
-        } catch (DatabaseConnectionException ex) {
-            JOptionPane.showMessageDialog(this,
-                    "Database error: " + ex.getMessage(),
-                    "Error",
-                    JOptionPane.ERROR_MESSAGE);
-        } catch (Exception ex) {
-            JOptionPane.showMessageDialog(this,
-                    "Error filtering students: " + ex.getMessage(),
-                    "Error",
-                    JOptionPane.ERROR_MESSAGE);
+            return;
         }
+
+        tasks.submit(FILTER_TASK, "Filtering students", TaskRunner.Mode.LATEST_WINS,
+                () -> dao.getStudentsWithGPAAbove(minGpa),
+                filtered -> {
+                    tableModel.showStudents(filtered);
+                    statusBar.setMessage(filtered.size() + " students with GPA >= " + minGpa);
+
+                    JOptionPane.showMessageDialog(this,
+                            "Found " + filtered.size() + " students with GPA >= " + minGpa,
+                            "Filter Results",
+                            JOptionPane.INFORMATION_MESSAGE);
+                },
+                ex -> {
+                    if (ex instanceof InvalidGPAException) {
+                        JOptionPane.showMessageDialog(this,
+                                ex.getMessage(),
+                                "Invalid GPA",
+                                JOptionPane.ERROR_MESSAGE);
+                    } else if (ex instanceof DatabaseConnectionException) {
+                        JOptionPane.showMessageDialog(this,
+                                "Database error: " + ex.getMessage(),
+                                "Error",
+                                JOptionPane.ERROR_MESSAGE);
+                    } else {
+                        JOptionPane.showMessageDialog(this,
+                                "Error filtering students: " + ex.getMessage(),
+                                "Error",
+                                JOptionPane.ERROR_MESSAGE);
+                    }
+                });
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,337 @@
+package view;
+
+import dao.StudentDAO;
+import exception.DatabaseConnectionException;
+import model.Student;
+import model.StudentPage;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+// Table model that only holds the rows around the viewport.
+// Rows are fetched a page at a time with keyset paging when the table first asks for them,
+// and a bounded window of pages is kept in LRU order. The row count comes from a COUNT(*),
+// so opening the table costs one small query regardless of its size.
+// All state is confined to the EDT; the DAO is only called from the loader thread.
+public class StudentTableModel extends AbstractTableModel {
+    private static final String[] COLUMNS = {"ID", "Name", "Email", "Major", "GPA", "Enrollment Date"};
+
+    private static final int PAGE_SIZE = 200;
+    private static final int MAX_CACHED_PAGES = 50;
+
+    private final StudentDAO dao;
+    private final ExecutorService loader = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "student-table-loader");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final Map<Integer, List<Student>> pages = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, List<Student>> eldest) {
+            return size() > MAX_CACHED_PAGES;
+        }
+    };
+    // Keyset cursor that starts each page; kept after the page itself is evicted
+    private final Map<Integer, Integer> pageCursors = new HashMap<>();
+    private final Set<Integer> pendingPages = new HashSet<>();
+
+    private int rowCount;
+    // Bumped on every reload so results of older requests are dropped; volatile so the loader can skip them too
+    private volatile int generation;
+    private int reportedGeneration = -1;
+    // Bumped whenever rows shift position, so pages fetched for the old layout are dropped
+    private int layoutVersion;
+    // Set while the table shows a fixed result list instead of the whole table
+    private List<Student> fixedRows;
+
+    // Read by the loader thread to skip pages the user has already scrolled past
+    private volatile int lastRequestedPage;
+
+    private Consumer<Exception> errorHandler = e -> System.err.println("Failed to load students: " + e.getMessage());
+
+    public StudentTableModel(StudentDAO dao) {
+        this.dao = dao;
+        pageCursors.put(0, StudentPage.FIRST_CURSOR);
+    }
+
+    // Receives loader failures on the EDT
+    public void setErrorHandler(Consumer<Exception> errorHandler) {
+        this.errorHandler = errorHandler;
+    }
+
+    // Drops every cached page and shows the whole table again
+    public void refresh() {
+        int loadGeneration = ++generation;
+        boolean wasFixed = fixedRows != null;
+        fixedRows = null;
+        discardPages();
+        pageCursors.clear();
+        pageCursors.put(0, StudentPage.FIRST_CURSOR);
+        if (wasFixed) {
+            rowCount = 0;
+            fireTableDataChanged();
+        }
+
+        loader.execute(() -> {
+            // Back-to-back refreshes collapse into the last one
+            if (loadGeneration != generation) {
+                return;
+            }
+            try {
+                int count = dao.countStudents();
+                SwingUtilities.invokeLater(() -> {
+                    if (loadGeneration == generation) {
+                        rowCount = count;
+                        fireTableDataChanged();
+                    }
+                });
+            } catch (DatabaseConnectionException e) {
+                reportError(loadGeneration, e);
+            }
+        });
+    }
+
+    // Shows an already loaded result, e.g. a filter, until the next refresh()
+    public void showStudents(List<Student> students) {
+        generation++;
+        fixedRows = new ArrayList<>(students);
+        discardPages();
+        fireTableDataChanged();
+    }
+
+    // Change-set entry points: each applies one DAO write to the cached rows and fires a single-row event.
+    // A fixed result list is a snapshot, so it is only patched, never extended.
+
+    // Generated ids only grow, so a new student sorts after every row the table has counted
+    public void applyInsert(Student student) {
+        if (fixedRows != null) {
+            return;
+        }
+
+        int row = rowCount++;
+        List<Student> tail = pages.get(row / PAGE_SIZE);
+        if (tail != null) {
+            tail.add(student);
+        }
+        // A tail page still in flight may have been read before the insert
+        layoutVersion++;
+        pendingPages.clear();
+        fireTableRowsInserted(row, row);
+    }
+
+    public void applyUpdate(Student student) {
+        int row = findRow(student.getId());
+        if (row < 0) {
+            // Not cached: the page is read fresh when it scrolls into view
+            return;
+        }
+
+        if (fixedRows != null) {
+            fixedRows.set(row, student);
+        } else {
+            pages.get(row / PAGE_SIZE).set(row % PAGE_SIZE, student);
+        }
+        fireTableRowsUpdated(row, row);
+    }
+
+    public void applyRemove(int id) {
+        int row = findRow(id);
+        if (fixedRows != null) {
+            if (row >= 0) {
+                fixedRows.remove(row);
+                fireTableRowsDeleted(row, row);
+            }
+            return;
+        }
+        if (row < 0) {
+            // Without the row's position the cached pages cannot be shifted, so start over
+            refresh();
+            return;
+        }
+
+        int page = row / PAGE_SIZE;
+        List<Student> previous = pages.get(page);
+        previous.remove(row % PAGE_SIZE);
+        rowCount--;
+
+        // Every later row moves up by one: pull the first row of each following cached page back a page
+        int next = page + 1;
+        List<Student> following;
+        while ((following = pages.get(next)) != null && !following.isEmpty()) {
+            previous.add(following.remove(0));
+            pageCursors.put(next, previous.get(previous.size() - 1).getId());
+            previous = following;
+            next++;
+        }
+
+        // The last shifted page is one row short unless it ends the table; it and everything after it are reread
+        int lastShifted = next - 1;
+        int tailPage = rowCount == 0 ? 0 : (rowCount - 1) / PAGE_SIZE;
+        int firstStale = lastShifted < tailPage ? lastShifted : lastShifted + 1;
+        pages.keySet().removeIf(p -> p >= firstStale);
+        pageCursors.keySet().removeIf(p -> p > lastShifted);
+        layoutVersion++;
+        pendingPages.clear();
+        fireTableRowsDeleted(row, row);
+    }
+
+    // Student shown on the row, or null while its page is still loading
+    public Student getStudentAt(int row) {
+        if (fixedRows != null) {
+            return fixedRows.get(row);
+        }
+
+        int page = row / PAGE_SIZE;
+        List<Student> students = pages.get(page);
+        if (students == null) {
+            requestPage(page);
+            return null;
+        }
+        int index = row % PAGE_SIZE;
+        return index < students.size() ? students.get(index) : null;
+    }
+
+    @Override
+    public int getRowCount() {
+        return fixedRows != null ? fixedRows.size() : rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMNS.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMNS[column];
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        Student student = getStudentAt(row);
+        if (student == null) {
+            return null;
+        }
+
+        switch (column) {
+            case 0: return student.getId();
+            case 1: return student.getName();
+            case 2: return student.getEmail();
+            case 3: return student.getMajor();
+            case 4: return student.getGpa();
+            case 5: return student.getEnrollmentDate();
+            default: return null;
+        }
+    }
+
+    private void requestPage(int page) {
+        lastRequestedPage = page;
+        if (!pendingPages.add(page)) {
+            return;
+        }
+
+        int loadGeneration = generation;
+        int loadLayout = layoutVersion;
+        Integer cursor = pageCursors.get(page);
+        loader.execute(() -> loadPage(loadGeneration, loadLayout, page, cursor));
+    }
+
+    // Runs on the loader thread
+    private void loadPage(int loadGeneration, int loadLayout, int page, Integer knownCursor) {
+        try {
+            if (Math.abs(page - lastRequestedPage) > MAX_CACHED_PAGES / 2) {
+                // Scrolled away before the load started; the page is requested again if it comes back into view
+                return;
+            }
+
+            // Sequential scrolling knows the cursor from the previous page; a jump has to seek for it first
+            int cursor = knownCursor != null ? knownCursor : dao.getPageCursorAt(page * PAGE_SIZE);
+            StudentPage result = dao.getStudentsPage(cursor, PAGE_SIZE);
+            SwingUtilities.invokeLater(() -> applyPage(loadLayout, page, result));
+        } catch (DatabaseConnectionException | RuntimeException e) {
+            // Reported once per reload; the page is requested again the next time it is painted
+            reportError(loadGeneration, e);
+        } finally {
+            // Queued after applyPage, so a loaded page is never requested twice
+            SwingUtilities.invokeLater(() -> {
+                if (loadLayout == layoutVersion) {
+                    pendingPages.remove(page);
+                }
+            });
+        }
+    }
+
+    private void applyPage(int loadLayout, int page, StudentPage result) {
+        if (loadLayout != layoutVersion) {
+            return;
+        }
+        pendingPages.remove(page);
+        pages.put(page, new ArrayList<>(result.getStudents()));
+        pageCursors.put(page + 1, result.getNextCursor());
+
+        // One event for the whole page rather than one per row
+        int first = page * PAGE_SIZE;
+        int last = Math.min(rowCount, first + PAGE_SIZE) - 1;
+        if (first <= last) {
+            fireTableRowsUpdated(first, last);
+        }
+    }
+
+    private void discardPages() {
+        pages.clear();
+        pendingPages.clear();
+        layoutVersion++;
+    }
+
+    // Row showing the student, or -1 when it is not on a cached page
+    private int findRow(int id) {
+        if (fixedRows != null) {
+            for (int i = 0; i < fixedRows.size(); i++) {
+                if (fixedRows.get(i).getId() == id) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        // Pages are ordered by id, so each cached page is binary searched
+        for (Map.Entry<Integer, List<Student>> entry : pages.entrySet()) {
+            List<Student> students = entry.getValue();
+            int low = 0;
+            int high = students.size() - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int midId = students.get(mid).getId();
+                if (midId < id) {
+                    low = mid + 1;
+                } else if (midId > id) {
+                    high = mid - 1;
+                } else {
+                    return entry.getKey() * PAGE_SIZE + mid;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private void reportError(int loadGeneration, Exception e) {
+        SwingUtilities.invokeLater(() -> {
+            // One report per reload; the visible pages usually fail together
+            if (loadGeneration == generation && reportedGeneration != generation) {
+                reportedGeneration = generation;
+                errorHandler.accept(e);
+            }
+        });
+    }
+}
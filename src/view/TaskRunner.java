@@ -0,0 +1,151 @@
+package view;
+
+import metrics.QueryProfiler;
+import util.BackgroundExecutors;
+
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+// Runs DAO calls off the event dispatch thread and hands the outcome back on it.
+// Tasks are keyed: a new read replaces the one in flight under the same key, while a
+// repeated write is ignored until the first one finishes (e.g. a double-clicked button).
+// All bookkeeping happens on the EDT, so callbacks never race with each other.
+public class TaskRunner {
+
+    public enum Mode {
+        // Reads: a newer submission or cancelAll() cancels the running task and drops its result
+        LATEST_WINS,
+        // Writes: never cancelled, since the statement may already have committed
+        RUN_ONCE
+    }
+
+    @FunctionalInterface
+    public interface Work<T> {
+        T call() throws Exception;
+    }
+
+    private final ExecutorService executor = BackgroundExecutors.newExecutor("student-ui-task", 4);
+    private final Map<String, Task<?>> running = new LinkedHashMap<>();
+    private final List<Runnable> changeListeners = new ArrayList<>();
+
+    // Returns false when a RUN_ONCE task with the same key is still running
+    public <T> boolean submit(String key, String description, Mode mode, Work<T> work,
+                              Consumer<? super T> onSuccess, Consumer<Exception> onFailure) {
+        Task<?> current = running.get(key);
+        if (current != null) {
+            if (current.mode == Mode.RUN_ONCE) {
+                return false;
+            }
+            current.cancel();
+        }
+
+        Task<T> task = new Task<>(key, description, mode, work, onSuccess, onFailure);
+        running.put(key, task);
+        task.future = executor.submit(task::execute);
+        fireChanged();
+        return true;
+    }
+
+    public void cancel(String key) {
+        Task<?> task = running.get(key);
+        if (task != null && task.mode == Mode.LATEST_WINS) {
+            task.cancel();
+            fireChanged();
+        }
+    }
+
+    public void cancelAll() {
+        for (Task<?> task : new ArrayList<>(running.values())) {
+            if (task.mode == Mode.LATEST_WINS) {
+                task.cancel();
+            }
+        }
+        fireChanged();
+    }
+
+    public List<String> getRunningDescriptions() {
+        List<String> descriptions = new ArrayList<>();
+        for (Task<?> task : running.values()) {
+            descriptions.add(task.description);
+        }
+        return descriptions;
+    }
+
+    public boolean hasCancellableTasks() {
+        return running.values().stream().anyMatch(t -> t.mode == Mode.LATEST_WINS);
+    }
+
+    // Notified on the EDT whenever a task starts, finishes or is cancelled
+    public void addChangeListener(Runnable listener) {
+        changeListeners.add(listener);
+    }
+
+    private void fireChanged() {
+        for (Runnable listener : changeListeners) {
+            listener.run();
+        }
+    }
+
+    private final class Task<T> {
+        final String key;
+        final String description;
+        final Mode mode;
+        final Work<T> work;
+        final Consumer<? super T> onSuccess;
+        final Consumer<Exception> onFailure;
+        Future<?> future;
+        boolean cancelled;
+
+        Task(String key, String description, Mode mode, Work<T> work,
+             Consumer<? super T> onSuccess, Consumer<Exception> onFailure) {
+            this.key = key;
+            this.description = description;
+            this.mode = mode;
+            this.work = work;
+            this.onSuccess = onSuccess;
+            this.onFailure = onFailure;
+        }
+
+        // Background thread
+        void execute() {
+            // Statements issued by the work show up under this task's description in the query profile
+            QueryProfiler.get().setAction(description);
+            try {
+                T result = work.call();
+                SwingUtilities.invokeLater(() -> finish(result, null));
+            } catch (Exception e) {
+                SwingUtilities.invokeLater(() -> finish(null, e));
+            } finally {
+                QueryProfiler.get().clearAction();
+            }
+        }
+
+        void finish(T result, Exception failure) {
+            if (cancelled) {
+                return;
+            }
+            running.remove(key, this);
+            fireChanged();
+
+            if (failure == null) {
+                onSuccess.accept(result);
+            } else {
+                onFailure.accept(failure);
+            }
+        }
+
+        // The interrupt only helps while the task waits, e.g. for a pooled connection;
+        // a statement already on the server runs to completion and its result is discarded
+        void cancel() {
+            cancelled = true;
+            future.cancel(true);
+            running.remove(key, this);
+        }
+    }
+}